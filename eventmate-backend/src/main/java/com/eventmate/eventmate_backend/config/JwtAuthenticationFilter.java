@@ -27,6 +27,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private MyUserDetailsService userDetailsService;
 
+    // Waiting-room polls carry their own signed token; skip the per-request user lookup
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && "/api/waiting-room/status".equals(request.getServletPath());
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -1,20 +1,18 @@
 package com.eventmate.eventmate_backend.controller;
 
 import com.eventmate.eventmate_backend.model.Booking;
-import com.eventmate.eventmate_backend.model.SeatStatus;
 import com.eventmate.eventmate_backend.model.ShowTime;
 import com.eventmate.eventmate_backend.model.User;
 import com.eventmate.eventmate_backend.repository.BookingRepository;
 import com.eventmate.eventmate_backend.repository.EventRepository;
 import com.eventmate.eventmate_backend.repository.UserRepository;
+import com.eventmate.eventmate_backend.service.SeatMaterializer;
 import com.eventmate.eventmate_backend.service.UserService; // ✅ Added Import
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import com.eventmate.eventmate_backend.dto.ShowTimeRequest;
-import com.eventmate.eventmate_backend.repository.ShowTimeRepository;
-import com.eventmate.eventmate_backend.repository.SeatStatusRepository;
 import com.eventmate.eventmate_backend.model.Event;
 import org.springframework.data.domain.PageRequest; 
 
@@ -31,8 +29,7 @@ public class AdminController {
     @Autowired private UserRepository userRepository;
     @Autowired private EventRepository eventRepository;
     @Autowired private BookingRepository bookingRepository;
-    @Autowired private ShowTimeRepository showTimeRepository;
-    @Autowired private SeatStatusRepository seatStatusRepository;
+    @Autowired private SeatMaterializer seatMaterializer;
     @Autowired private UserService userService; // ✅ Added Service Injection
 
     private User getCurrentAdmin() {
@@ -126,21 +123,17 @@ public class AdminController {
             showTime.setAvailableGeneralTickets(event.getTotalCapacity());
         }
 
-        ShowTime savedShow = showTimeRepository.save(showTime);
-
-        if (event.isSeated()) {
-            List<SeatStatus> seats = new ArrayList<>();
-            for (int row = 1; row <= event.getTotalRows(); row++) {
-                char rowLabel = (char) ('A' + row - 1);
-                for (int col = 1; col <= event.getTotalCols(); col++) {
-                    SeatStatus seat = new SeatStatus();
-                    seat.setShowTime(savedShow);
-                    seat.setSeatLabel(rowLabel + "" + col);
-                    seat.setStatus(SeatStatus.Status.AVAILABLE);
-                    seats.add(seat);
-                }
-            }
-            seatStatusRepository.saveAll(seats);
+        showTime.setSparseSeats(seatMaterializer.isSparseByDefault());
+
+        // ✅ Showtime and seats in one transaction (multi-row INSERTs, no managed entities). Sparse showtimes need no seat rows.
+        int rows = event.isSeated() && event.getTotalRows() != null ? event.getTotalRows() : 0;
+        int cols = event.isSeated() && event.getTotalCols() != null ? event.getTotalCols() : 0;
+        long start = System.nanoTime();
+        ShowTime savedShow = seatMaterializer.createShowTime(showTime, rows, cols);
+
+        if (event.isSeated() && !savedShow.isSparseSeats()) {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return ResponseEntity.ok("Showtime & Seats Created! (" + (rows * cols) + " seats in " + millis + " ms)");
         }
 
         return ResponseEntity.ok("Showtime & Seats Created!");
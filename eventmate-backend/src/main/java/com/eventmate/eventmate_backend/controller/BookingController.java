@@ -3,8 +3,11 @@ package com.eventmate.eventmate_backend.controller;
 import com.eventmate.eventmate_backend.dto.BookingRequest;
 import com.eventmate.eventmate_backend.model.Booking;
 import com.eventmate.eventmate_backend.service.BookingService;
+import com.eventmate.eventmate_backend.service.IdempotencyService;
+import com.eventmate.eventmate_backend.service.WaitingRoomService;
 import com.eventmate.eventmate_backend.repository.BookingRepository; // Inject Repository directly for read-only seat logic
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,15 +28,37 @@ public class BookingController {
     @Autowired
     private BookingRepository bookingRepository; // Direct access for seat fetching
 
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/create")
-    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request) {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String email = authentication.getName();
-            return ResponseEntity.ok(bookingService.createBooking(request, email));
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+
+        // ✅ NEW: A retried request with the same Idempotency-Key gets the first booking back
+        return idempotencyService.execute("booking", email, idempotencyKey, request, () -> {
+            try {
+                // ✅ Waiting room: only admitted buyers reach BookingService (and the database),
+                // and each admission is good for one booking
+                if (!waitingRoomService.claim(request.getEventId(), request.getQueueToken(), email)) {
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .body("You're in the waiting room for this event. Please wait for your turn.");
+                }
+                try {
+                    return ResponseEntity.ok(bookingService.createBooking(request, email));
+                } catch (RuntimeException e) {
+                    waitingRoomService.release(request.getEventId(), request.getQueueToken()); // can retry
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        });
     }
 
     @GetMapping("/my-bookings")
@@ -60,7 +85,11 @@ public class BookingController {
     }
 
     @PutMapping("/confirm/{id}")
-    public ResponseEntity<Booking> confirmBooking(@PathVariable Long id) {
-        return ResponseEntity.ok(bookingService.confirmBooking(id));
+    public ResponseEntity<?> confirmBooking(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(bookingService.confirmBooking(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -1,20 +1,39 @@
 package com.eventmate.eventmate_backend.controller;
 
 import com.eventmate.eventmate_backend.dto.EventRequest;
+import com.eventmate.eventmate_backend.dto.SearchSuggestion;
 import com.eventmate.eventmate_backend.model.Event;
 import com.eventmate.eventmate_backend.model.User;
 import com.eventmate.eventmate_backend.repository.BookingRepository; // ✅ Need this
 import com.eventmate.eventmate_backend.repository.EventRepository;
 import com.eventmate.eventmate_backend.repository.ShowTimeRepository; // ✅ Need this
 import com.eventmate.eventmate_backend.repository.UserRepository;
+import com.eventmate.eventmate_backend.service.BookingSeatService;
+import com.eventmate.eventmate_backend.service.EventFacetService;
+import com.eventmate.eventmate_backend.service.EventIndexUpdater;
+import com.eventmate.eventmate_backend.service.EventSearchService;
+import com.eventmate.eventmate_backend.service.EventService;
+import com.eventmate.eventmate_backend.service.EventSuggestService;
+import com.eventmate.eventmate_backend.service.HotCapacityService;
+import com.eventmate.eventmate_backend.service.OccupiedSeatIndex;
+import com.eventmate.eventmate_backend.service.SeatInventoryService;
+import com.eventmate.eventmate_backend.service.SeatPricingService;
+import com.eventmate.eventmate_backend.service.TicketSequenceService;
+import com.eventmate.eventmate_backend.service.WaitingRoomService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional; // ✅ Transactional
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,6 +53,42 @@ public class EventController {
     @Autowired
     private ShowTimeRepository showTimeRepository; // Inject
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private OccupiedSeatIndex occupiedSeatIndex;
+
+    @Autowired
+    private SeatPricingService seatPricingService;
+
+    @Autowired
+    private HotCapacityService hotCapacityService;
+
+    @Autowired
+    private TicketSequenceService ticketSequenceService;
+
+    @Autowired
+    private BookingSeatService bookingSeatService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    private EventIndexUpdater eventIndexUpdater;
+
+    @Autowired
+    private EventSuggestService eventSuggestService;
+
+    @Autowired
+    private EventFacetService eventFacetService;
+
     // ✅ Helper: Get currently logged-in user
     private User getLoggedInUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -47,6 +102,51 @@ public class EventController {
         return eventRepository.findAll();
     }
 
+    // 1b. ✅ NEW: Paginated Catalog (Public) - slim cards, bounded size however many events exist
+    // e.g. /api/events/catalog?category=Music&from=2025-01-01&size=20, then &cursor=<nextCursor>
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalog(@RequestParam(required = false) String category,
+                                        @RequestParam(required = false) String type,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(eventService.getCatalog(category, type, from, to, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 1c. ✅ NEW: Filtered listing plus facet counts in one call. Repeat a param to OR values, e.g.
+    // /api/events/facets?category=Music&category=Comedy&price=under-500&date=2025-03&seating=seated
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(@RequestParam(required = false) List<String> category,
+                                       @RequestParam(required = false) List<String> type,
+                                       @RequestParam(required = false) List<String> date,
+                                       @RequestParam(required = false) List<String> price,
+                                       @RequestParam(required = false) List<String> seating,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size) {
+        Map<String, List<String>> filters = new HashMap<>();
+        if (category != null) filters.put(EventFacetService.CATEGORY, category);
+        if (type != null) filters.put(EventFacetService.TYPE, type);
+        if (date != null) filters.put(EventFacetService.DATE, date);
+        if (price != null) filters.put(EventFacetService.PRICE, price);
+        if (seating != null) filters.put(EventFacetService.SEATING, seating);
+        if (!eventFacetService.isReady()) {
+            // Startup rebuild still running: the request is fine, retry it shortly
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("Event filters are still loading. Please try again shortly.");
+        }
+        try {
+            return ResponseEntity.ok(eventFacetService.facets(filters, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // 2. Get "My Events" (Protected - For Admin Dashboard)
     @GetMapping("/my-events")
     public ResponseEntity<List<Event>> getMyEvents() {
@@ -63,13 +163,25 @@ public class EventController {
                 .orElseThrow(() -> new RuntimeException("Event not found"));
     }
 
-    // 4. ✅ UPDATED: Smart Search
+    // 4. ✅ UPDATED: Smart Search (?fuzzy=true also matches misspellings, e.g. "arjit singh")
     @GetMapping("/search")
-    public List<Event> searchEvents(@RequestParam String query) {
+    public List<Event> searchEvents(@RequestParam String query,
+                                    @RequestParam(defaultValue = "false") boolean fuzzy) {
         if(query == null || query.trim().isEmpty()) {
             return eventRepository.findAll();
         }
-        return eventRepository.searchEvents(query);
+        // ✅ Ranked (BM25) from the in-memory index; LIKE query only until the index is built
+        return fuzzy ? eventSearchService.searchFuzzy(query) : eventSearchService.search(query);
+    }
+
+    // 4b. ✅ NEW: Typeahead for the search box, most popular first (e.g. /api/events/suggest?q=jaz)
+    @GetMapping("/suggest")
+    public List<SearchSuggestion> suggest(@RequestParam(required = false) String q,
+                                          @RequestParam(defaultValue = "8") int limit) {
+        if (q == null || q.isBlank() || limit < 1) {
+            return Collections.emptyList();
+        }
+        return eventSuggestService.suggest(q, limit);
     }
 
     // 5. ✅ RECOMMENDATIONS ENDPOINT
@@ -108,6 +220,8 @@ public class EventController {
         
         mapRequestToEvent(event, request); 
         eventRepository.save(event);
+        waitingRoomService.setEnabled(event.getId(), event.isWaitingRoom());
+        eventIndexUpdater.eventSaved(event);
         return ResponseEntity.ok("Event created successfully");
     }
 
@@ -126,6 +240,10 @@ public class EventController {
 
         mapRequestToEvent(event, request);
         eventRepository.save(event);
+        seatPricingService.evictEvent(id); // seatConfig may have changed
+        hotCapacityService.eventUpdated(event); // capacity or hot mode may have changed
+        waitingRoomService.setEnabled(id, event.isWaitingRoom());
+        eventIndexUpdater.eventSaved(event);
         return ResponseEntity.ok("Event updated successfully");
     }
     
@@ -141,10 +259,21 @@ public class EventController {
         // Note: JPA usually handles this if CascadeType.ALL is set, but explicit delete is safer for complex relations
         List<com.eventmate.eventmate_backend.model.Booking> bookings = bookingRepository.findByEventId(id);
         bookingRepository.deleteAll(bookings);
+        bookingSeatService.releaseEvent(id);
 
         // 2. Delete all showtimes for this event
         List<com.eventmate.eventmate_backend.model.ShowTime> showTimes = showTimeRepository.findByEventId(id);
         showTimeRepository.deleteAll(showTimes);
+        showTimes.forEach(st -> {
+            seatInventoryService.evict(st.getId());
+            occupiedSeatIndex.evictShowTime(st.getId());
+        });
+        occupiedSeatIndex.evictEvent(id);
+        seatPricingService.evictEvent(id);
+        hotCapacityService.evict(id);
+        waitingRoomService.setEnabled(id, false);
+        ticketSequenceService.evict(id);
+        eventIndexUpdater.eventDeleted(id);
 
         // 3. Finally delete the event
         eventRepository.deleteById(id);
@@ -158,6 +287,7 @@ public class EventController {
         event.setCategory(request.getCategory());
         event.setLocation(request.getLocation());
         event.setImageUrl(request.getImageUrl());
+        event.setWaitingRoom(request.isWaitingRoom());
         
         // ✅ NEW: Handle Event Type (Default to NORMAL if missing)
         if (request.getEventType() != null) {
@@ -204,6 +334,7 @@ public class EventController {
              } else {
                  event.setTotalCapacity(request.getTotalCapacity());
                  event.setAvailableSeats(request.getTotalCapacity());
+                 event.setHotSale(request.isHotSale());
              }
         }
     }
@@ -1,8 +1,12 @@
 package com.eventmate.eventmate_backend.controller;
 
+import com.eventmate.eventmate_backend.service.IdempotencyService;
 import com.eventmate.eventmate_backend.service.PaymentService;
+import com.stripe.exception.StripeException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -15,17 +19,32 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/create-payment-intent")
-    public ResponseEntity<Map<String, String>> createPaymentIntent(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> createPaymentIntent(@RequestBody Map<String, Object> request,
+                                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // ✅ NEW: Retries with the same Idempotency-Key reuse the first intent instead of creating another
+        String caller = SecurityContextHolder.getContext().getAuthentication().getName();
+        return idempotencyService.execute("payment-intent", caller, idempotencyKey, request,
+                () -> createIntent(request, idempotencyService.upstreamKey("payment-intent", caller, idempotencyKey)));
+    }
+
+    private ResponseEntity<?> createIntent(Map<String, Object> request, String stripeIdempotencyKey) {
         try {
             // Log the incoming request
             System.out.println("💰 Init Payment Request: " + request);
             
             Double amount = Double.parseDouble(request.get("amount").toString());
-            Map<String, String> response = paymentService.createPaymentIntent(amount, "inr");
+            Map<String, String> response = paymentService.createPaymentIntent(amount, "inr", stripeIdempotencyKey);
             
             System.out.println("✅ Payment Intent Created: " + response.get("clientSecret").substring(0, 10) + "...");
             return ResponseEntity.ok(response);
+        } catch (StripeException e) {
+            // Stripe/network trouble: 502 isn't kept by the idempotency store, so a retry can go through
+            System.err.println("❌ STRIPE ERROR: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             // ❌ THIS PRINTS THE REAL ERROR TO YOUR CONSOLE
             System.err.println("❌ STRIPE ERROR: " + e.getMessage());
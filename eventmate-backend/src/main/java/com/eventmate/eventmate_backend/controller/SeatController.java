@@ -1,19 +1,23 @@
 package com.eventmate.eventmate_backend.controller;
 
+import com.eventmate.eventmate_backend.dto.BestAvailableRequest;
 import com.eventmate.eventmate_backend.dto.LockRequest;
-import com.eventmate.eventmate_backend.model.Booking;
-import com.eventmate.eventmate_backend.model.SeatStatus;
-import com.eventmate.eventmate_backend.repository.BookingRepository;
-import com.eventmate.eventmate_backend.repository.SeatStatusRepository;
-import jakarta.transaction.Transactional;
+import com.eventmate.eventmate_backend.dto.SeatView;
+import com.eventmate.eventmate_backend.inventory.SeatMap;
+import com.eventmate.eventmate_backend.service.OccupiedSeatIndex;
+import com.eventmate.eventmate_backend.service.SeatInventoryService;
+import com.eventmate.eventmate_backend.service.SeatStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/seats")
@@ -21,72 +25,84 @@ import java.util.List;
 public class SeatController {
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private OccupiedSeatIndex occupiedSeatIndex;
 
     @Autowired
-    private SeatStatusRepository seatStatusRepository;
+    private SeatInventoryService seatInventoryService;
 
-    // ✅ 1. Standard Event: Get occupied seats by Event ID
+    @Autowired
+    private SeatStreamService seatStreamService;
+
+    // ✅ 1. Standard Event: Get occupied seats by Event ID (served from the in-memory index)
     @GetMapping("/occupied/{eventId}")
-    public List<String> getOccupiedSeats(@PathVariable Long eventId) {
-        // Use the robust repository method we added
-        List<Booking> bookings = bookingRepository.findByEventIdAndStatusNot(eventId, "CANCELLED");
-        return extractSeats(bookings);
+    public ResponseEntity<List<String>> getOccupiedSeats(@PathVariable Long eventId, WebRequest request) {
+        return conditional(request, occupiedSeatIndex.eventVersionTag(eventId),
+                () -> occupiedSeatIndex.getOccupiedByEvent(eventId));
     }
 
-    // ✅ 2. Movie Event: Get occupied seats by Showtime ID (NEW LOGIC)
+    // ✅ 2. Movie Event: Get occupied seats by Showtime ID (served from the in-memory index)
     @GetMapping("/occupied/showtime/{showTimeId}")
-    public List<String> getOccupiedSeatsByShowTime(@PathVariable Long showTimeId) {
-        List<Booking> bookings = bookingRepository.findByShowTimeIdAndStatusNot(showTimeId, "CANCELLED");
-        return extractSeats(bookings);
-    }
-
-    // ✅ Helper to parse "A-1, A-2" strings into a single list (With Trim fix)
-    private List<String> extractSeats(List<Booking> bookings) {
-        List<String> occupiedSeats = new ArrayList<>();
-        for (Booking booking : bookings) {
-            if (booking.getSeats() != null && !booking.getSeats().isEmpty()) {
-                String[] seatsArray = booking.getSeats().split(",");
-                for (String s : seatsArray) {
-                    occupiedSeats.add(s.trim()); // Removes accidental spaces
-                }
-            }
-        }
-        return occupiedSeats;
+    public ResponseEntity<List<String>> getOccupiedSeatsByShowTime(@PathVariable Long showTimeId, WebRequest request) {
+        return conditional(request, occupiedSeatIndex.showTimeVersionTag(showTimeId),
+                () -> occupiedSeatIndex.getOccupiedByShowTime(showTimeId));
     }
 
     // ---------------- OLD FEATURES PRESERVED (Layout & Locking) ----------------
 
+    // ✅ Served from the in-memory seat map (hydrated from seat_status on first access)
+    // ✅ ETag = seat-map version, so an unchanged map answers 304 without building the list
     @GetMapping("/layout/{showTimeId}")
-    public List<SeatStatus> getLayout(@PathVariable Long showTimeId) {
-        return seatStatusRepository.findByShowTimeId(showTimeId);
+    public ResponseEntity<List<SeatView>> getLayout(@PathVariable Long showTimeId, WebRequest request) {
+        return conditional(request, seatStreamService.versionTag(showTimeId),
+                () -> seatInventoryService.getLayout(showTimeId));
     }
 
     @PostMapping("/lock")
-    @Transactional
     public ResponseEntity<?> lockSeats(@RequestBody LockRequest request) {
-        List<String> seatsToLock = request.getSeatLabels();
-        Long showTimeId = request.getShowTimeId();
-        Long userId = request.getUserId();
+        try {
+            seatInventoryService.lockSeats(request.getShowTimeId(), request.getSeatLabels(), request.getUserId());
+            return ResponseEntity.ok("Seats Locked");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        for (String label : seatsToLock) {
-            SeatStatus seat = seatStatusRepository.findByShowTimeIdAndSeatLabel(showTimeId, label);
-            
-            if (seat == null) {
-                // If seat record doesn't exist yet, we might strictly return error or handle it.
-                // Assuming standard behavior is checking existence first.
-                return ResponseEntity.badRequest().body("Seat " + label + " does not exist.");
-            }
+    // ✅ NEW: Lock the best block of N adjacent seats (closest to the centre, optionally one class)
+    @PostMapping("/best-available")
+    public ResponseEntity<?> lockBestAvailable(@RequestBody BestAvailableRequest request) {
+        try {
+            return ResponseEntity.ok(seatInventoryService.lockBestAvailable(
+                    request.getShowTimeId(), request.getCount(), request.getSeatClass(), request.getUserId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-            if (seat.getStatus() != SeatStatus.Status.AVAILABLE) {
-                return ResponseEntity.badRequest().body("Seat " + label + " is already taken!");
-            }
+    // ✅ NEW: Live seat-map deltas (Server-Sent Events). Browsers reconnect with Last-Event-ID
+    // automatically; other clients can pass ?since=<last event id> instead.
+    @GetMapping(path = "/stream/{showTimeId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeats(@PathVariable Long showTimeId,
+                                                  @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                  @RequestParam(value = "since", required = false) String since) {
+        SeatMap map;
+        try {
+            map = seatInventoryService.getSeatMap(showTimeId);
+        } catch (RuntimeException e) {
+            // Unknown showtime
+            return ResponseEntity.notFound().build();
+        }
+        String resumeFrom = lastEventId != null ? lastEventId : since;
+        return ResponseEntity.ok(seatStreamService.subscribe(showTimeId, resumeFrom, map));
+    }
 
-            seat.setStatus(SeatStatus.Status.LOCKED);
-            seat.setLockedByUserId(userId);
-            seat.setLockExpiresAt(LocalDateTime.now().plusMinutes(10));
-            seatStatusRepository.save(seat);
+    // 304 when If-None-Match already has this version; the tag must be read before the body
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
-        return ResponseEntity.ok("Seats Locked");
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import com.eventmate.eventmate_backend.model.ShowTime;
 import com.eventmate.eventmate_backend.repository.EventRepository;
 import com.eventmate.eventmate_backend.repository.HallRepository;
 import com.eventmate.eventmate_backend.repository.ShowTimeRepository;
+import com.eventmate.eventmate_backend.service.SeatMaterializer;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +30,9 @@ public class ShowTimeController {
     @Autowired
     private HallRepository hallRepository;
 
+    @Autowired
+    private SeatMaterializer seatMaterializer;
+
     // ✅ NEW: Create a Showtime (Links Movie + Hall + Time)
     @PostMapping("/create")
     public ResponseEntity<ShowTime> createShowTime(@RequestBody ShowTimeRequest request) {
@@ -50,7 +54,14 @@ public class ShowTimeController {
         // For standard events, we might track general tickets, but for movies, we use the Hall layout
         showTime.setAvailableGeneralTickets(hall.getTotalCapacity());
 
-        return ResponseEntity.ok(showTimeRepository.save(showTime));
+        showTime.setSparseSeats(seatMaterializer.isSparseByDefault());
+
+        // ✅ Save the showtime and bulk-create its seat rows together (sparse showtimes derive them from the Hall)
+        int rows = hall.getTotalRows() != null ? hall.getTotalRows() : 0;
+        int cols = hall.getTotalCols() != null ? hall.getTotalCols() : 0;
+        ShowTime savedShow = seatMaterializer.createShowTime(showTime, rows, cols);
+
+        return ResponseEntity.ok(savedShow);
     }
 
     // 1. Get Single ShowTime by ID (Used by SeatSelectionPage)
@@ -0,0 +1,34 @@
+package com.eventmate.eventmate_backend.controller;
+
+import com.eventmate.eventmate_backend.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@CrossOrigin(origins = "http://localhost:5173")
+public class WaitingRoomController {
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    // Join the queue for an event (logged-in users). Events without a waiting room are admitted at once.
+    @PostMapping("/join/{eventId}")
+    public ResponseEntity<?> join(@PathVariable Long eventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(waitingRoomService.join(eventId, authentication.getName()));
+    }
+
+    // Position updates: public and served from memory (the token is signed)
+    @GetMapping("/status")
+    public ResponseEntity<?> status(@RequestParam String token) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.status(token));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
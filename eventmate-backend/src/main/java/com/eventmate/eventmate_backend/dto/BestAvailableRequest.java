@@ -0,0 +1,13 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class BestAvailableRequest {
+    private Long showTimeId;
+    private Long userId;
+    private int count;
+
+    // Optional: a class label from the event's seatConfig (e.g. "VIP")
+    private String seatClass;
+}
@@ -14,4 +14,7 @@ public class BookingRequest {
     private String seats; 
 
     private Double totalPrice;
+
+    // ✅ NEW: Admitted waiting-room token (only for events with a waiting room)
+    private String queueToken;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of the event catalog; pass nextCursor back as ?cursor= for the next page
+@Data
+@AllArgsConstructor
+public class CatalogPage {
+    private List<EventSummary> events;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+}
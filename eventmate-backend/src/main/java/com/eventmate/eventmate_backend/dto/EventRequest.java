@@ -23,6 +23,12 @@ public class EventRequest {
     private Integer totalCols;
     private String seatConfig;
     private Integer totalCapacity;
+
+    // ✅ NEW: Opt-in in-memory capacity for big on-sales (general admission only)
+    private boolean hotSale;
+
+    // ✅ NEW: Queue buyers in the waiting room during the on-sale
+    private boolean waitingRoom;
     
     // Add image URL if missing
     private String imageUrl;
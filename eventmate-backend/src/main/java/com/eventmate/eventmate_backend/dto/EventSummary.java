@@ -0,0 +1,26 @@
+package com.eventmate.eventmate_backend.dto;
+
+import com.eventmate.eventmate_backend.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// ✅ Catalog card: only the event's own columns (selected directly, so the organizer is never loaded)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+    private Long id;
+    private String title;
+    private String category;
+    private String location;
+    private Double price;
+    private String imageUrl;
+    private LocalDate date;
+    private LocalTime time;
+    private Integer availableSeats;
+    private Event.EventType eventType;
+}
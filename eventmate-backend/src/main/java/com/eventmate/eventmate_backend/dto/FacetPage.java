@@ -0,0 +1,16 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of filtered events plus, per facet, how many events each value would leave
+@Data
+@AllArgsConstructor
+public class FacetPage {
+    private List<EventSummary> events;
+    private int total; // events matching every filter
+    private Map<String, Map<String, Integer>> counts; // facet -> value -> count
+}
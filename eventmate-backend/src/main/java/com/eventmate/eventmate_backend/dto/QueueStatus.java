@@ -0,0 +1,14 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Waiting-room ticket: send the token with status polls and with the booking once admitted
+@Data
+@AllArgsConstructor
+public class QueueStatus {
+    private String token;
+    private long position;
+    private boolean admitted;
+    private long etaSeconds;
+}
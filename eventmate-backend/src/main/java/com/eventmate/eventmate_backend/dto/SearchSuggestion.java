@@ -0,0 +1,15 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// ✅ Typeahead entry: type is TITLE, LOCATION or CATEGORY; eventId only when the title belongs to one event
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestion {
+    private String text;
+    private String type;
+    private Long eventId;
+}
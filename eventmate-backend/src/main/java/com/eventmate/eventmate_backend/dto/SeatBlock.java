@@ -0,0 +1,15 @@
+package com.eventmate.eventmate_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Seats locked by the best-available finder (labels as in the layout, e.g. "E7")
+@Data
+@AllArgsConstructor
+public class SeatBlock {
+    private List<String> seatLabels;
+    private String seatClass;
+    private Double pricePerSeat;
+}
@@ -0,0 +1,13 @@
+package com.eventmate.eventmate_backend.dto;
+
+import com.eventmate.eventmate_backend.model.SeatStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Slim seat-map entry (no nested ShowTime/Event graph)
+@Data
+@AllArgsConstructor
+public class SeatView {
+    private String seatLabel;
+    private SeatStatus.Status status;
+}
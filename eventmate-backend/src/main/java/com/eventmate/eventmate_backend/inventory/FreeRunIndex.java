@@ -0,0 +1,161 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntPredicate;
+
+/**
+ * Longest runs of free seats, one segment tree per row.
+ *
+ * Every node keeps the free run touching its left edge, the one touching its right edge and the
+ * longest run inside it, so "where does a block of N free seats start" is answered by walking
+ * down a single row in O(log cols), and rows without such a block are skipped by looking at
+ * the root alone.
+ *
+ * Not thread-safe: {@link SeatMap} owns an instance and serialises access to it.
+ */
+public class FreeRunIndex {
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+
+    // Node n of row r lives at r * 2 * size + n; node 1 is the root, leaves start at size
+    private final int[] prefix;
+    private final int[] suffix;
+    private final int[] longest;
+
+    // Row numbers ordered by distance from the middle row
+    private final int[] rowsFromCentre;
+
+    // Free seats carried from the nodes already scanned, shared by the recursive scans
+    private int carry;
+
+    public FreeRunIndex(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.size = Integer.highestOneBit(Math.max(cols, 1) * 2 - 1);
+        this.prefix = new int[rows * 2 * size];
+        this.suffix = new int[rows * 2 * size];
+        this.longest = new int[rows * 2 * size];
+
+        Integer[] order = new Integer[rows];
+        for (int r = 0; r < rows; r++) {
+            order[r] = r;
+        }
+        Arrays.sort(order, Comparator.comparingInt(r -> Math.abs(2 * r - (rows - 1))));
+        this.rowsFromCentre = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Rebuilds one row, bottom-up, from the seats' current free/taken state.
+     */
+    public void setRow(int row, IntPredicate free) {
+        int base = row * 2 * size;
+        for (int c = 0; c < size; c++) {
+            int leaf = c < cols && free.test(c) ? 1 : 0;
+            prefix[base + size + c] = leaf;
+            suffix[base + size + c] = leaf;
+            longest[base + size + c] = leaf;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            int half = size / Integer.highestOneBit(node) / 2;
+            int left = base + 2 * node;
+            int right = left + 1;
+            prefix[base + node] = prefix[left] == half ? half + prefix[right] : prefix[left];
+            suffix[base + node] = suffix[right] == half ? half + suffix[left] : suffix[right];
+            longest[base + node] = Math.max(Math.max(longest[left], longest[right]), suffix[left] + prefix[right]);
+        }
+    }
+
+    public int longestRun(int row) {
+        return longest[row * 2 * size + 1];
+    }
+
+    /**
+     * Smallest column >= {@code from} where {@code count} free seats start, or -1.
+     */
+    public int leftmostFit(int row, int count, int from) {
+        if (count < 1 || longestRun(row) < count) return -1;
+        carry = 0;
+        return scanRight(row * 2 * size, 1, 0, size, from, count);
+    }
+
+    /**
+     * Largest column <= {@code to} where {@code count} free seats start, or -1.
+     */
+    public int rightmostFit(int row, int count, int to) {
+        if (count < 1 || longestRun(row) < count || to < 0) return -1;
+        carry = 0;
+        return scanLeft(row * 2 * size, 1, 0, size, to + count, count);
+    }
+
+    /**
+     * Start (as a seat index) of the block of {@code count} free seats in one row whose centre
+     * is closest to the centre of the hall, or -1. Rows whose entry in {@code allowedRows} is
+     * false or missing are skipped; null allows every row.
+     */
+    public int bestBlock(int count, boolean[] allowedRows) {
+        if (count < 1 || count > cols) return -1;
+
+        // Distances are doubled so the centres of even-sized rows and blocks stay integral
+        int centred = (cols - count) / 2;
+        long bestScore = Long.MAX_VALUE;
+        int bestIndex = -1;
+        for (int row : rowsFromCentre) {
+            long dy = 2L * row - (rows - 1);
+            if (dy * dy >= bestScore) break; // every remaining row is further out
+            if (allowedRows != null && (row >= allowedRows.length || !allowedRows[row])) continue;
+            if (longestRun(row) < count) continue;
+
+            // The best spot in a row is the nearest fit on either side of the centred start
+            int[] candidates = { rightmostFit(row, count, centred), leftmostFit(row, count, centred) };
+            for (int start : candidates) {
+                if (start < 0) continue;
+                long dx = 2L * start + count - cols;
+                long score = dx * dx + dy * dy;
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestIndex = row * cols + start;
+                }
+            }
+        }
+        return bestIndex;
+    }
+
+    // Left-to-right scan over [from, size); returns the start of the first window that fits
+    private int scanRight(int base, int node, int lo, int hi, int from, int count) {
+        if (hi <= from) return -1;
+        int len = hi - lo;
+        if (lo >= from) {
+            int pre = prefix[base + node];
+            if (carry + pre < count && longest[base + node] < count) {
+                carry = pre == len ? carry + len : suffix[base + node];
+                return -1;
+            }
+            if (len == 1) return hi - count;
+        }
+        int mid = (lo + hi) >>> 1;
+        int found = scanRight(base, 2 * node, lo, mid, from, count);
+        if (found >= 0) return found;
+        return scanRight(base, 2 * node + 1, mid, hi, from, count);
+    }
+
+    // Right-to-left scan over [0, until); returns the start of the last window that fits
+    private int scanLeft(int base, int node, int lo, int hi, int until, int count) {
+        if (lo >= until) return -1;
+        int len = hi - lo;
+        if (hi <= until) {
+            int suf = suffix[base + node];
+            if (carry + suf < count && longest[base + node] < count) {
+                carry = suf == len ? carry + len : prefix[base + node];
+                return -1;
+            }
+            if (len == 1) return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        int found = scanLeft(base, 2 * node + 1, mid, hi, until, count);
+        if (found >= 0) return found;
+        return scanLeft(base, 2 * node, lo, mid, until, count);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique, contiguous ranges of numbers from blocks reserved elsewhere (hi/lo).
+ *
+ * The {@link BlockSource} reserves a whole block at a time (one database round trip); ranges
+ * inside the current block are then taken with a single CAS. Only the thread that finds the
+ * block exhausted takes the lock to fetch the next one. A range never spans two blocks: the
+ * tail of a block too short for a request is skipped, so numbers are unique but may have gaps.
+ */
+public class HiLoSequence {
+
+    /**
+     * Reserves {@code size} numbers and returns the first; the block is [first, first + size).
+     */
+    public interface BlockSource {
+        long reserve(int size);
+    }
+
+    private static final Block EXHAUSTED = new Block(0, 0);
+
+    private final int blockSize;
+    private final BlockSource source;
+    private volatile Block block = EXHAUSTED;
+
+    public HiLoSequence(int blockSize, BlockSource source) {
+        this.blockSize = blockSize;
+        this.source = source;
+    }
+
+    /**
+     * First number of a fresh range of {@code count} consecutive numbers.
+     */
+    public long next(int count) {
+        if (count < 1 || count > blockSize) {
+            throw new IllegalArgumentException("count must be between 1 and " + blockSize);
+        }
+        while (true) {
+            Block current = block;
+            long start = current.take(count);
+            if (start >= 0) return start;
+            synchronized (this) {
+                // Someone else may have refilled while we waited
+                if (block == current) {
+                    block = new Block(source.reserve(blockSize), blockSize);
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        Block(long first, int size) {
+            this.next = new AtomicLong(first);
+            this.limit = first + size;
+        }
+
+        // Start of the range, or -1 if this block can't fit it
+        long take(int count) {
+            long current;
+            do {
+                current = next.get();
+                if (current + count > limit) return -1;
+            } while (!next.compareAndSet(current, current + count));
+            return current;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seat class and price per row, compiled once from an event's (or hall's) seatConfig.
+ *
+ * The format is the one the frontend reads: rules separated by commas or newlines, each
+ * "startRow-endRow:price:label" with 1-based rows (e.g. "1-2:500:VIP, 3-10:200:Eco"). The end
+ * row and label are optional and malformed rules are ignored. As at checkout, the first rule
+ * that covers a row sets its price.
+ *
+ * The arrays cover rows up to the highest one a rule names (at most {@link #MAX_ROWS}); lookups
+ * past that behave like rows no rule covers.
+ */
+public class SeatClassTable {
+
+    public static final int MAX_ROWS = 1000;
+
+    private final String[] classes;
+    private final double[] prices;
+
+    private SeatClassTable(int rows) {
+        this.classes = new String[rows];
+        this.prices = new double[rows];
+        Arrays.fill(prices, Double.NaN);
+    }
+
+    public static SeatClassTable parse(String seatConfig) {
+        List<Rule> rules = new ArrayList<>();
+        int rows = 0;
+        if (seatConfig != null) {
+            for (String rule : seatConfig.split("[,\n]")) {
+                String[] parts = rule.split(":");
+                if (parts.length < 2) continue;
+                try {
+                    String[] range = parts[0].trim().split("-");
+                    int start = Math.max(Integer.parseInt(range[0].trim()), 1);
+                    int end = Math.min(range.length > 1 ? Integer.parseInt(range[1].trim()) : start, MAX_ROWS);
+                    double price = Double.parseDouble(parts[1].trim());
+                    String label = parts.length > 2 ? parts[2].trim() : "";
+                    rules.add(new Rule(start, end, price, label));
+                    rows = Math.max(rows, end);
+                } catch (NumberFormatException e) {
+                    // Skip the rule, like the frontend does
+                }
+            }
+        }
+
+        SeatClassTable table = new SeatClassTable(rows);
+        for (Rule rule : rules) {
+            for (int row = rule.start; row <= rule.end; row++) {
+                if (table.classes[row - 1] != null) continue;
+                table.classes[row - 1] = rule.label;
+                table.prices[row - 1] = rule.price;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Class label of a 0-based row, or null when no rule covers it.
+     */
+    public String classOf(int row) {
+        return row >= 0 && row < classes.length ? classes[row] : null;
+    }
+
+    /**
+     * Price of a 0-based row, or NaN when no rule covers it.
+     */
+    public double priceOf(int row) {
+        return row >= 0 && row < prices.length ? prices[row] : Double.NaN;
+    }
+
+    /**
+     * Flags for the rows of a class (case-insensitive), or null if no row has that class.
+     */
+    public boolean[] rowsOf(String seatClass) {
+        boolean[] rows = new boolean[classes.length];
+        boolean any = false;
+        for (int row = 0; row < classes.length; row++) {
+            if (classes[row] != null && classes[row].equalsIgnoreCase(seatClass.trim())) {
+                rows[row] = true;
+                any = true;
+            }
+        }
+        return any ? rows : null;
+    }
+
+    private record Rule(int start, int end, double price, String label) {
+    }
+}
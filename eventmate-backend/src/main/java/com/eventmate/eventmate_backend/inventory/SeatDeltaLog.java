@@ -0,0 +1,67 @@
+package com.eventmate.eventmate_backend.inventory;
+
+/**
+ * Bounded history of seat changes for one showtime.
+ *
+ * Every change gets the next version number and is stored as a packed (seatIndex << 2 | state)
+ * int in a ring buffer, so a client that reconnects with a recent version can be sent exactly the
+ * changes it missed. Versions only grow from the starting version, so the version also works as
+ * a cache validator for the seat map.
+ */
+public class SeatDeltaLog {
+
+    private final int[] ring;
+    private long latest;
+    private final long floor;
+
+    public SeatDeltaLog(int capacity) {
+        this(capacity, 0);
+    }
+
+    // Starts at startVersion with nothing replayable before it, e.g. above an evicted log's versions
+    public SeatDeltaLog(int capacity, long startVersion) {
+        this.ring = new int[capacity];
+        this.latest = startVersion;
+        this.floor = startVersion;
+    }
+
+    /**
+     * Records the same new state for each seat and returns the version of the last one.
+     */
+    public synchronized long append(int[] seats, int state) {
+        for (int seat : seats) {
+            latest++;
+            ring[(int) (latest % ring.length)] = pack(seat, state);
+        }
+        return latest;
+    }
+
+    public synchronized long latestVersion() {
+        return latest;
+    }
+
+    /**
+     * Changes after {@code version} (versions version+1 .. latest, oldest first), or null when
+     * that version is unknown or has already been overwritten and the caller needs a full snapshot.
+     */
+    public synchronized int[] since(long version) {
+        if (version < floor || version > latest || latest - version > ring.length) return null;
+        int[] missed = new int[(int) (latest - version)];
+        for (int i = 0; i < missed.length; i++) {
+            missed[i] = ring[(int) ((version + 1 + i) % ring.length)];
+        }
+        return missed;
+    }
+
+    public static int pack(int seat, int state) {
+        return (seat << 2) | (state & 0b11);
+    }
+
+    public static int seatOf(int packed) {
+        return packed >>> 2;
+    }
+
+    public static int stateOf(int packed) {
+        return packed & 0b11;
+    }
+}
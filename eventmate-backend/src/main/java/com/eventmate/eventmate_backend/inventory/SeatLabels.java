@@ -0,0 +1,88 @@
+package com.eventmate.eventmate_backend.inventory;
+
+/**
+ * Converts between seat labels and zero-based (row, col) coordinates.
+ *
+ * Two label formats are in circulation: "A1" (how AdminController names seat_status rows)
+ * and "1-1" (how the seat picker builds seat IDs). Both map to the same coordinates,
+ * so the inventory can compare them without string matching.
+ */
+public final class SeatLabels {
+
+    public static final int INVALID = -1;
+
+    private SeatLabels() {
+    }
+
+    /**
+     * Parses a label into a packed (row << 16 | col) value, or {@link #INVALID}.
+     */
+    public static int parse(String label) {
+        if (label == null) return INVALID;
+        String s = label.trim();
+        if (s.isEmpty()) return INVALID;
+
+        int row;
+        int pos;
+        char first = s.charAt(0);
+        if (Character.isDigit(first)) {
+            // Numeric form "row-col" (1-based)
+            int dash = s.indexOf('-');
+            if (dash <= 0) return INVALID;
+            row = parseNumber(s, 0, dash) - 1;
+            pos = dash + 1;
+        } else {
+            // Letter form "A1" / "A-1" (A = first row)
+            row = Character.toUpperCase(first) - 'A';
+            pos = (s.length() > 1 && s.charAt(1) == '-') ? 2 : 1;
+        }
+
+        int col = parseNumber(s, pos, s.length()) - 1;
+        if (row < 0 || col < 0 || row > 0xFFFF || col > 0xFFFF) return INVALID;
+        return (row << 16) | col;
+    }
+
+    public static int row(int packed) {
+        return packed >>> 16;
+    }
+
+    public static int col(int packed) {
+        return packed & 0xFFFF;
+    }
+
+    /**
+     * Canonical label, matching the seat_status rows created for a showtime.
+     */
+    public static String format(int row, int col) {
+        return (char) ('A' + row) + Integer.toString(col + 1);
+    }
+
+    /**
+     * The canonical form of {@code label} ("1-5" and "A-5" both become "A5"), or the trimmed label
+     * unchanged if it isn't a seat (e.g. GEN-5).
+     */
+    public static String canonical(String label) {
+        int packed = parse(label);
+        return packed == INVALID ? label.trim() : format(row(packed), col(packed));
+    }
+
+    /**
+     * The seat picker's "row-col" form (1-based), or the trimmed label unchanged if it isn't a seat.
+     */
+    public static String pickerId(String label) {
+        int packed = parse(label);
+        return packed == INVALID ? label.trim() : (row(packed) + 1) + "-" + (col(packed) + 1);
+    }
+
+    // Returns 0 (an invalid 1-based value) for empty or non-numeric input
+    private static int parseNumber(String s, int from, int to) {
+        if (from >= to || to - from > 5) return 0;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return 0;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
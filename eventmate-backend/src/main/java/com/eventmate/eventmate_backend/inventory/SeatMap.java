@@ -0,0 +1,239 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat state for one showtime packed into a bitmap: two bits per seat, row-major.
+ *
+ * State codes line up with SeatStatus.Status ordinals (AVAILABLE, LOCKED, BOOKED);
+ * the fourth code marks grid positions that have no seat_status row.
+ *
+ * A sparse map belongs to a showtime that only persists non-AVAILABLE seats: every grid
+ * position starts AVAILABLE and the stored rows are overrides on top of the layout.
+ *
+ * All updates are lock-free compare-and-set operations on 64-bit words (32 seats each), so
+ * concurrent claims on the same showtime decide a winner without blocking one another.
+ *
+ * Free seats are also indexed per row in a {@link FreeRunIndex} for block searches. Writers only
+ * flag the row as dirty (so claims stay lock-free); a search rebuilds the dirty rows first.
+ */
+public class SeatMap {
+
+    public static final int AVAILABLE = 0;
+    public static final int LOCKED = 1;
+    public static final int BOOKED = 2;
+    public static final int ABSENT = 3;
+
+    private static final int SEATS_PER_WORD = 32;
+    private static final long STATE_MASK = 0b11L;
+
+    private final int rows;
+    private final int cols;
+    private final boolean sparse;
+    private final AtomicLongArray words;
+
+    private final FreeRunIndex freeRuns;
+    private final AtomicLongArray dirtyRows;
+
+    public SeatMap(int rows, int cols, boolean sparse) {
+        this.rows = rows;
+        this.cols = cols;
+        this.sparse = sparse;
+        int initialState = sparse ? AVAILABLE : ABSENT;
+
+        // Spread the initial code over every 2-bit slot of each word
+        long fill = 0L;
+        for (int i = 0; i < SEATS_PER_WORD; i++) {
+            fill |= (initialState & STATE_MASK) << (i * 2);
+        }
+        long[] initial = new long[(rows * cols + SEATS_PER_WORD - 1) / SEATS_PER_WORD];
+        Arrays.fill(initial, fill);
+        this.words = new AtomicLongArray(initial);
+
+        // Built on the first search
+        this.freeRuns = new FreeRunIndex(rows, cols);
+        long[] allDirty = new long[(rows + 63) / 64];
+        Arrays.fill(allDirty, -1L);
+        this.dirtyRows = new AtomicLongArray(allDirty);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    public int size() {
+        return rows * cols;
+    }
+
+    /**
+     * Seat index for a label, or -1 if the label is malformed or outside the grid.
+     */
+    public int indexOf(String label) {
+        int packed = SeatLabels.parse(label);
+        if (packed == SeatLabels.INVALID) return -1;
+        int row = SeatLabels.row(packed);
+        int col = SeatLabels.col(packed);
+        if (row >= rows || col >= cols) return -1;
+        return row * cols + col;
+    }
+
+    public String labelOf(int index) {
+        return SeatLabels.format(index / cols, index % cols);
+    }
+
+    public int get(int index) {
+        return (int) ((words.get(index / SEATS_PER_WORD) >>> shift(index)) & STATE_MASK);
+    }
+
+    public void set(int index, int state) {
+        int word = index / SEATS_PER_WORD;
+        long mask = STATE_MASK << shift(index);
+        long bits = (state & STATE_MASK) << shift(index);
+        long current;
+        do {
+            current = words.get(word);
+        } while (!words.compareAndSet(word, current, (current & ~mask) | bits));
+        markDirty(index);
+    }
+
+    public boolean compareAndSet(int index, int expected, int state) {
+        int word = index / SEATS_PER_WORD;
+        int shift = shift(index);
+        long mask = STATE_MASK << shift;
+        long current;
+        do {
+            current = words.get(word);
+            if (((current >>> shift) & STATE_MASK) != expected) return false;
+        } while (!words.compareAndSet(word, current, (current & ~mask) | ((state & STATE_MASK) << shift)));
+        markDirty(index);
+        return true;
+    }
+
+    /**
+     * Moves every seat in {@code indices} from {@code expected} to {@code state}, or none of them.
+     *
+     * Seats are grouped by word and each word is swapped with a single CAS; if a later word has
+     * a seat in the wrong state, the words already swapped are put back. Returns -1 on success,
+     * otherwise the position in {@code indices} of a seat that was not in {@code expected}.
+     */
+    public int tryTransition(int[] indices, int expected, int state) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+
+        int start = 0;
+        while (start < sorted.length) {
+            int word = sorted[start] / SEATS_PER_WORD;
+            int end = start;
+            long mask = 0L;
+            long expectedBits = 0L;
+            long newBits = 0L;
+            while (end < sorted.length && sorted[end] / SEATS_PER_WORD == word) {
+                int shift = shift(sorted[end]);
+                mask |= STATE_MASK << shift;
+                expectedBits |= (expected & STATE_MASK) << shift;
+                newBits |= (state & STATE_MASK) << shift;
+                end++;
+            }
+
+            long current;
+            boolean swapped;
+            do {
+                current = words.get(word);
+                if ((current & mask) != expectedBits) {
+                    undo(sorted, start, state, expected);
+                    return conflictIn(indices, current, word, expected);
+                }
+                swapped = words.compareAndSet(word, current, (current & ~mask) | newBits);
+            } while (!swapped);
+            for (int i = start; i < end; i++) {
+                markDirty(sorted[i]);
+            }
+            start = end;
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the first seat of the {@code count} adjacent AVAILABLE seats in one row that sit
+     * closest to the centre of the hall, or -1 if no row has room. Only rows flagged in
+     * {@code allowedRows} are considered (null for all).
+     *
+     * The answer is a hint: the seats still have to be claimed with {@link #tryTransition}.
+     */
+    public int findBestBlock(int count, boolean[] allowedRows) {
+        synchronized (freeRuns) {
+            for (int w = 0; w < dirtyRows.length(); w++) {
+                long dirty = dirtyRows.getAndSet(w, 0L);
+                while (dirty != 0) {
+                    int row = w * 64 + Long.numberOfTrailingZeros(dirty);
+                    dirty &= dirty - 1;
+                    if (row >= rows) break;
+                    int rowStart = row * cols;
+                    freeRuns.setRow(row, c -> get(rowStart + c) == AVAILABLE);
+                }
+            }
+            return freeRuns.bestBlock(count, allowedRows);
+        }
+    }
+
+    /**
+     * Returns the position in {@code indices} of the first seat not in {@code expected}, or -1.
+     */
+    public int firstNotIn(int[] indices, int expected) {
+        for (int i = 0; i < indices.length; i++) {
+            if (get(indices[i]) != expected) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies out every seat's state code in index order.
+     */
+    public int[] snapshot() {
+        int[] states = new int[size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = get(i);
+        }
+        return states;
+    }
+
+    // Flag the seat's row for the next block search; called after the state is written
+    private void markDirty(int index) {
+        int row = index / cols;
+        int word = row / 64;
+        long bit = 1L << (row % 64);
+        long current;
+        do {
+            current = dirtyRows.get(word);
+            if ((current & bit) != 0) return;
+        } while (!dirtyRows.compareAndSet(word, current, current | bit));
+    }
+
+    // Reverts the seats this call already swapped (sorted[0..end))
+    private void undo(int[] sorted, int end, int from, int to) {
+        for (int i = 0; i < end; i++) {
+            compareAndSet(sorted[i], from, to);
+        }
+    }
+
+    private static int conflictIn(int[] indices, long wordValue, int word, int expected) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] / SEATS_PER_WORD != word) continue;
+            if (((wordValue >>> shift(indices[i])) & STATE_MASK) != expected) return i;
+        }
+        return 0;
+    }
+
+    private static int shift(int index) {
+        return (index % SEATS_PER_WORD) * 2;
+    }
+}
@@ -0,0 +1,110 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A non-negative count split across several independently updated shards.
+ *
+ * Each thread takes from its own shard with a CAS that never goes below zero, so concurrent
+ * takers rarely touch the same cache line. When its shard runs dry a taker tries the others, and
+ * only when no single shard can cover the request does it take a lock and gather from several.
+ * The total can never go negative, and {@link #sum()} is exact whenever no call is in progress.
+ */
+public class ShardedCounter {
+
+    // Shards sit 8 longs (64 bytes) apart so they don't share a cache line
+    private static final int STRIDE = 8;
+
+    // Threads are dealt home shards round-robin on first use
+    private static final AtomicInteger NEXT_HOME = new AtomicInteger();
+    private static final ThreadLocal<Integer> HOME = ThreadLocal.withInitial(NEXT_HOME::getAndIncrement);
+
+    private final int shards;
+    private final AtomicLongArray slots;
+    private final Object gatherLock = new Object();
+
+    public ShardedCounter(int shards, long initial) {
+        this.shards = Math.max(1, shards);
+        this.slots = new AtomicLongArray(this.shards * STRIDE);
+        add(Math.max(0, initial));
+    }
+
+    /**
+     * Takes {@code n} units if that many are left, otherwise takes nothing.
+     */
+    public boolean tryAcquire(long n) {
+        if (n <= 0) return true;
+        int home = home();
+        for (int i = 0; i < shards; i++) {
+            if (tryTake((home + i) % shards, n)) return true;
+        }
+        return gather(n);
+    }
+
+    /**
+     * Returns units (cancellations); negative values are treated like a partial
+     * {@link #tryAcquire} that takes whatever it can, for corrections.
+     */
+    public void add(long n) {
+        if (n >= 0) {
+            // Spread large deposits so every shard can serve its threads
+            long share = n / shards;
+            long rest = n % shards;
+            for (int i = 0; i < shards; i++) {
+                long amount = share + (i < rest ? 1 : 0);
+                if (amount > 0) slots.addAndGet(i * STRIDE, amount);
+            }
+        } else {
+            drain(-n);
+        }
+    }
+
+    public long sum() {
+        long total = 0;
+        for (int i = 0; i < shards; i++) {
+            total += slots.get(i * STRIDE);
+        }
+        return total;
+    }
+
+    private boolean tryTake(int shard, long n) {
+        int slot = shard * STRIDE;
+        long current;
+        do {
+            current = slots.get(slot);
+            if (current < n) return false;
+        } while (!slots.compareAndSet(slot, current, current - n));
+        return true;
+    }
+
+    // Takes up to n from across the shards; returns what it got
+    private long drain(long n) {
+        long taken = 0;
+        for (int i = 0; i < shards && taken < n; i++) {
+            int slot = i * STRIDE;
+            long current;
+            long take;
+            do {
+                current = slots.get(slot);
+                take = Math.min(current, n - taken);
+            } while (take > 0 && !slots.compareAndSet(slot, current, current - take));
+            taken += take;
+        }
+        return taken;
+    }
+
+    // Slow path: no single shard had n. Serialised, so two gatherers can't starve each other.
+    private boolean gather(long n) {
+        synchronized (gatherLock) {
+            long taken = drain(n);
+            if (taken == n) return true;
+            if (taken > 0) add(taken);
+            return false;
+        }
+    }
+
+    private int home() {
+        return Math.floorMod(HOME.get(), shards);
+    }
+}
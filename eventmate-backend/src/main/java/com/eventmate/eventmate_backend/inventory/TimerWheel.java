@@ -0,0 +1,97 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timer wheel keyed by {@code long} ids.
+ *
+ * Deadlines are rounded up to the next tick and hashed into {@code wheelSize} slots; deadlines
+ * further out than one revolution simply stay in their slot for extra rounds. Scheduling a key
+ * that is already pending replaces its deadline, so a key fires at most once.
+ */
+public class TimerWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<Set<Long>> slots;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+
+    // Last tick that has been processed
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    public synchronized void schedule(long key, long deadlineMillis) {
+        long tick = Math.max(tickOf(deadlineMillis), currentTick + 1);
+        // A stale entry left in the old slot is dropped when that slot is next visited
+        deadlines.put(key, tick);
+        slots.get((int) (tick & mask)).add(key);
+    }
+
+    public synchronized boolean cancel(long key) {
+        return deadlines.remove(key) != null;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns every key whose deadline has passed.
+     */
+    public synchronized long[] advance(long nowMillis) {
+        long target = (nowMillis - startMillis) / tickMillis;
+        if (target <= currentTick) return new long[0];
+
+        // After a long pause one revolution is enough to visit every slot
+        long from = Math.max(currentTick + 1, target - mask);
+        List<Long> expired = new ArrayList<>();
+        for (long tick = from; tick <= target; tick++) {
+            int slot = (int) (tick & mask);
+            Iterator<Long> it = slots.get(slot).iterator();
+            while (it.hasNext()) {
+                Long key = it.next();
+                Long deadline = deadlines.get(key);
+                if (deadline == null || (deadline & mask) != slot) {
+                    it.remove(); // cancelled or rescheduled into another slot
+                } else if (deadline <= target) {
+                    it.remove();
+                    deadlines.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        currentTick = target;
+
+        long[] keys = new long[expired.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = expired.get(i);
+        }
+        return keys;
+    }
+
+    // Rounds up so a key never fires before its deadline
+    private long tickOf(long millis) {
+        long elapsed = millis - startMillis;
+        if (elapsed <= 0) return 0;
+        return (elapsed + tickMillis - 1) / tickMillis;
+    }
+}
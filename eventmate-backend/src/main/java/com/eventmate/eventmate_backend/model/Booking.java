@@ -7,7 +7,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_booking_status_date", columnList = "status, booking_date") // expiry sweep
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
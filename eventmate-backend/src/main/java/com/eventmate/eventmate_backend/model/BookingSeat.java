@@ -0,0 +1,50 @@
+package com.eventmate.eventmate_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// ✅ One row per sold seat (or GEN ticket) of a live booking. The primary key makes selling
+// the same seat twice for an event/showtime a constraint violation; rows are deleted when the
+// booking is cancelled so the seat can be sold again. Booking.seats is still written too.
+@Entity
+@Table(name = "booking_seats", indexes = {
+        @Index(name = "idx_booking_seats_showtime", columnList = "showtime_id, seat_label, booking_id"),
+        @Index(name = "idx_booking_seats_booking", columnList = "booking_id")
+})
+@IdClass(BookingSeat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeat {
+
+    // Standard (non-movie) events have no showtime
+    public static final long NO_SHOWTIME = 0L;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Column(name = "showtime_id")
+    private Long showTimeId;
+
+    @Id
+    @Column(name = "seat_label", length = 32)
+    private String seatLabel;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long eventId;
+        private Long showTimeId;
+        private String seatLabel;
+    }
+}
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_date_id", columnList = "date, id"), // catalog seek
+        @Index(name = "idx_events_category_date_id", columnList = "category, date, id")
+})
 @Data
 public class Event {
     @Id
@@ -44,6 +47,13 @@ public class Event {
 
     private Integer totalCapacity; 
 
+    // ✅ NEW: Hot on-sale mode (general admission). Capacity is counted in memory and
+    // flushed to availableSeats periodically instead of updating this row per booking.
+    private boolean hotSale;
+
+    // ✅ NEW: Put buyers through the virtual waiting room before they can book
+    private boolean waitingRoom;
+
     // ✅ NEW: Event Type Logic (Phase 1)
     // Default is NORMAL so old events don't break
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,43 @@
+package com.eventmate.eventmate_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// ✅ Outgoing email, written in the same transaction as the change it announces
+// and sent later by OutboxDispatcher (with retries), so SMTP never blocks a request.
+@Entity
+@Table(name = "outbox_messages", indexes = @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+public class OutboxMessage {
+
+    public enum Status { PENDING, SENT, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String recipient;
+    private String subject;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+}
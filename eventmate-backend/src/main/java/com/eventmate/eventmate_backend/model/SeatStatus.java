@@ -5,7 +5,8 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seat_status")
+// One row per seat per showtime; also what makes concurrent inserts in sparse mode safe
+@Table(name = "seat_status", uniqueConstraints = @UniqueConstraint(columnNames = {"showtime_id", "seat_label"}))
 @Data
 public class SeatStatus {
     @Id
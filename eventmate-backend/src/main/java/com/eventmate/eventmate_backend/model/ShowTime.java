@@ -32,4 +32,8 @@ public class ShowTime {
     
     // For General Admission: Track capacity per show
     private Integer availableGeneralTickets; 
+
+    // ✅ NEW: Sparse seat mode. The seat map is derived from the Hall/Event layout and
+    // seat_status only holds rows for seats that are LOCKED or BOOKED.
+    private boolean sparseSeats;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.eventmate.eventmate_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unreserved general-admission ticket number of an event (GEN-n). Servers reserve blocks
+ * of numbers from this row and hand them out from memory.
+ */
+@Entity
+@Table(name = "ticket_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSequence {
+
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -3,6 +3,7 @@ package com.eventmate.eventmate_backend.repository;
 import com.eventmate.eventmate_backend.model.Booking;
 import com.eventmate.eventmate_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
@@ -47,4 +48,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     // ✅ NEW: Find Bookings for a standard event (Backward Compatibility)
     List<Booking> findByEventIdAndStatusNot(Long eventId, String status);
-}
\ No newline at end of file
+
+    // ✅ NEW: (id, seats) only, used to rebuild the in-memory occupied-seat index
+    @Query("SELECT b.id AS id, b.seats AS seats FROM Booking b WHERE b.event.id = :eventId AND b.status <> :status")
+    List<BookedSeats> findSeatsByEventIdAndStatusNot(@Param("eventId") Long eventId, @Param("status") String status);
+
+    @Query("SELECT b.id AS id, b.seats AS seats FROM Booking b WHERE b.showTime.id = :showTimeId AND b.status <> :status")
+    List<BookedSeats> findSeatsByShowTimeIdAndStatusNot(@Param("showTimeId") Long showTimeId, @Param("status") String status);
+
+    // ✅ NEW: Tickets sold for an event (the ledger hot-event counters are rebuilt from)
+    @Query("SELECT SUM(b.ticketsCount) FROM Booking b WHERE b.event.id = :eventId AND b.status <> :status")
+    Long sumTicketsByEventIdAndStatusNot(@Param("eventId") Long eventId, @Param("status") String status);
+
+    // ✅ NEW: Existing GEN-n tickets (all statuses), read once to start an event's ticket sequence
+    @Query("SELECT b.seats FROM Booking b WHERE b.event.id = :eventId AND b.seats LIKE 'GEN-%'")
+    List<String> findGeneralAdmissionSeatsByEventId(@Param("eventId") Long eventId);
+
+    // ✅ NEW: Bulk expiry. Locks the next chunk of expired PENDING bookings (rows another
+    // transaction holds, e.g. a confirmIfPending in flight, are skipped and picked up next
+    // sweep, by which time they are no longer PENDING if the confirmation committed)
+    @Query(value = "SELECT id AS id, event_id AS eventId, showtime_id AS showTimeId, " +
+            "tickets_count AS ticketsCount, seats AS seats FROM bookings " +
+            "WHERE status = 'PENDING' AND booking_date < :cutoff ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ExpiredBooking> lockExpiredPending(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Same, for holds whose deadline has passed (bookings no longer PENDING are left out)
+    @Query(value = "SELECT id AS id, event_id AS eventId, showtime_id AS showTimeId, " +
+            "tickets_count AS ticketsCount, seats AS seats FROM bookings " +
+            "WHERE id IN (:ids) AND status = 'PENDING' FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ExpiredBooking> lockPendingByIds(@Param("ids") List<Long> ids);
+
+    // ✅ NEW: (id, bookingDate) of every PENDING booking, to rebuild the hold queue on startup
+    @Query("SELECT b.id AS id, b.bookingDate AS bookingDate FROM Booking b WHERE b.status = 'PENDING'")
+    List<PendingHold> findPendingHolds();
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.cancellationTime = :now WHERE b.id IN :ids")
+    int cancelAllById(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // ✅ NEW: Payment confirmation. Only a booking that is still PENDING is confirmed; the UPDATE
+    // waits for a row the expiry sweep holds, then finds it CANCELLED and changes nothing
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED' WHERE b.id = :id AND b.status = 'PENDING'")
+    int confirmIfPending(@Param("id") Long id);
+
+    // ✅ NEW: Single cancellation. Only the transaction that flips the row returns 1, so a cancel
+    // racing hold expiry (or another cancel) releases the booking's seats and tickets once
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.cancellationTime = :now " +
+            "WHERE b.id = :id AND b.status <> 'CANCELLED'")
+    int cancelIfNotCancelled(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    interface ExpiredBooking {
+        Long getId();
+        Long getEventId();
+        Long getShowTimeId();
+        Integer getTicketsCount();
+        String getSeats();
+    }
+
+    interface PendingHold {
+        Long getId();
+        LocalDateTime getBookingDate();
+    }
+
+    interface BookedSeats {
+        Long getId();
+        String getSeats();
+    }
+}
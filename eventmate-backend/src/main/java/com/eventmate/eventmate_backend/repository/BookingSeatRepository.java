@@ -0,0 +1,36 @@
+package com.eventmate.eventmate_backend.repository;
+
+import com.eventmate.eventmate_backend.model.BookingSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BookingSeatRepository extends JpaRepository<BookingSeat, BookingSeat.Key> {
+
+    // Occupied seats, read straight from the indexes (no booking rows, no string splitting)
+    @Query("SELECT s.bookingId AS bookingId, s.seatLabel AS seatLabel FROM BookingSeat s WHERE s.eventId = :eventId")
+    List<SeatOwner> findOwnersByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT s.bookingId AS bookingId, s.seatLabel AS seatLabel FROM BookingSeat s WHERE s.showTimeId = :showTimeId")
+    List<SeatOwner> findOwnersByShowTimeId(@Param("showTimeId") Long showTimeId);
+
+    @Modifying
+    @Query("DELETE FROM BookingSeat s WHERE s.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM BookingSeat s WHERE s.bookingId IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") List<Long> bookingIds);
+
+    @Modifying
+    @Query("DELETE FROM BookingSeat s WHERE s.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    interface SeatOwner {
+        Long getBookingId();
+        String getSeatLabel();
+    }
+}
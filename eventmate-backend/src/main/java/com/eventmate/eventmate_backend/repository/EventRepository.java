@@ -1,10 +1,17 @@
 package com.eventmate.eventmate_backend.repository;
 
+import com.eventmate.eventmate_backend.dto.EventSummary;
 import com.eventmate.eventmate_backend.model.Event;
 import com.eventmate.eventmate_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -33,4 +40,71 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     // ✅ NEW: Filter by Event Type (MOVIE vs NORMAL)
     List<Event> findByEventType(Event.EventType eventType);
+
+    // ✅ NEW: Catalog pages, seeking past the last (date, id) seen instead of using OFFSET.
+    // Dated events come first in date order, then undated ones (movies) in id order.
+    @Query("SELECT new com.eventmate.eventmate_backend.dto.EventSummary(e.id, e.title, e.category, e.location, " +
+            "e.price, e.imageUrl, e.date, e.time, e.availableSeats, e.eventType) FROM Event e " +
+            "WHERE e.date IS NOT NULL " +
+            "AND (:category IS NULL OR e.category = :category) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND (:fromDate IS NULL OR e.date >= :fromDate) " +
+            "AND (:toDate IS NULL OR e.date <= :toDate) " +
+            "AND (:afterDate IS NULL OR e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<EventSummary> findDatedCatalogPage(@Param("category") String category,
+                                            @Param("eventType") Event.EventType eventType,
+                                            @Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate,
+                                            @Param("afterDate") LocalDate afterDate,
+                                            @Param("afterId") Long afterId,
+                                            Pageable limit);
+
+    @Query("SELECT new com.eventmate.eventmate_backend.dto.EventSummary(e.id, e.title, e.category, e.location, " +
+            "e.price, e.imageUrl, e.date, e.time, e.availableSeats, e.eventType) FROM Event e " +
+            "WHERE e.date IS NULL " +
+            "AND (:category IS NULL OR e.category = :category) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND e.id > :afterId " +
+            "ORDER BY e.id ASC")
+    List<EventSummary> findUndatedCatalogPage(@Param("category") String category,
+                                              @Param("eventType") Event.EventType eventType,
+                                              @Param("afterId") Long afterId,
+                                              Pageable limit);
+
+    // ✅ NEW: Catalog cards for a page of ids picked by the facet index (caller restores the order)
+    @Query("SELECT new com.eventmate.eventmate_backend.dto.EventSummary(e.id, e.title, e.category, e.location, " +
+            "e.price, e.imageUrl, e.date, e.time, e.availableSeats, e.eventType) FROM Event e WHERE e.id IN :ids")
+    List<EventSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ NEW: Events that queue buyers in the waiting room (loaded into memory on startup)
+    @Query("SELECT e.id FROM Event e WHERE e.waitingRoom = true")
+    List<Long> findWaitingRoomEventIds();
+
+    // ✅ NEW: Capacity of every event, read periodically to re-rank search suggestions
+    @Query("SELECT e.id AS id, e.totalCapacity AS totalCapacity, e.availableSeats AS availableSeats FROM Event e")
+    List<SeatCounts> findSeatCounts();
+
+    // ✅ NEW: Atomic capacity changes (no read-modify-write of the whole row).
+    // Returns 1 if the seats were taken, 0 if fewer than :count are left.
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :count " +
+            "WHERE e.id = :id AND e.availableSeats >= :count")
+    int reserveSeats(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + :count WHERE e.id = :id")
+    int releaseSeats(@Param("id") Long id, @Param("count") int count);
+
+    // Hot events: the in-memory counter is flushed here periodically
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.availableSeats = :availableSeats WHERE e.id = :id")
+    int setAvailableSeats(@Param("id") Long id, @Param("availableSeats") int availableSeats);
+
+    interface SeatCounts {
+        Long getId();
+        Integer getTotalCapacity();
+        Integer getAvailableSeats();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.eventmate.eventmate_backend.repository;
+
+import com.eventmate.eventmate_backend.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Locks the oldest due messages (a batch at a time). Rows another dispatcher is claiming are
+    // skipped, so instances never pick up the same message.
+    @Query(value = "SELECT id FROM outbox_messages WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Claims locked messages: they aren't due again until the lease runs out (e.g. the sender died)
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Retention: sent and failed mail older than the cutoff, a chunk at a time
+    @Modifying
+    @Query(value = "DELETE FROM outbox_messages WHERE status IN ('SENT', 'FAILED') AND created_at < :cutoff " +
+            "LIMIT :limit", nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
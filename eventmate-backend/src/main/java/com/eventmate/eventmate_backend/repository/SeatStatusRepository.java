@@ -2,7 +2,12 @@ package com.eventmate.eventmate_backend.repository;
 
 import com.eventmate.eventmate_backend.model.SeatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatStatusRepository extends JpaRepository<SeatStatus, Long> {
@@ -15,4 +20,66 @@ public interface SeatStatusRepository extends JpaRepository<SeatStatus, Long> {
 
     // Find expired locks to clean them up
     List<SeatStatus> findByStatusAndLockExpiresAtBefore(SeatStatus.Status status, LocalDateTime now);
-}
\ No newline at end of file
+
+    // ✅ NEW: Label + status only, used to hydrate the in-memory seat map without loading entities
+    @Query("SELECT s.seatLabel AS seatLabel, s.status AS status FROM SeatStatus s WHERE s.showTime.id = :showTimeId")
+    List<SeatState> findStatesByShowTimeId(@Param("showTimeId") Long showTimeId);
+
+    // ✅ NEW: All-or-nothing batch lock in one statement. Only rows that are still AVAILABLE are
+    // touched, so the caller compares the count with the request and rolls back on a partial match.
+    @Modifying
+    @Query(value = "UPDATE seat_status SET status = 'LOCKED', locked_by_user_id = :userId, lock_expires_at = :expiresAt " +
+            "WHERE showtime_id = :showTimeId AND seat_label IN (:seatLabels) AND status = 'AVAILABLE'",
+            nativeQuery = true)
+    int lockAvailableSeats(@Param("showTimeId") Long showTimeId,
+                           @Param("seatLabels") Collection<String> seatLabels,
+                           @Param("userId") Long userId,
+                           @Param("expiresAt") LocalDateTime expiresAt);
+
+    // ✅ NEW: Bulk release used by the lock-expiry timer wheel (one statement per tick)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE seat_status s JOIN showtimes t ON t.id = s.showtime_id " +
+            "SET s.status = 'AVAILABLE', s.locked_by_user_id = NULL, s.lock_expires_at = NULL " +
+            "WHERE s.showtime_id IN (:showTimeIds) AND t.sparse_seats = FALSE " +
+            "AND s.status = 'LOCKED' AND s.lock_expires_at <= :now",
+            nativeQuery = true)
+    int releaseExpiredLocks(@Param("showTimeIds") Collection<Long> showTimeIds, @Param("now") LocalDateTime now);
+
+    // ✅ NEW: Same as above for sparse showtimes, where an AVAILABLE seat simply has no row
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE s FROM seat_status s JOIN showtimes t ON t.id = s.showtime_id " +
+            "WHERE s.showtime_id IN (:showTimeIds) AND t.sparse_seats = TRUE " +
+            "AND s.status = 'LOCKED' AND s.lock_expires_at <= :now",
+            nativeQuery = true)
+    int deleteExpiredLocks(@Param("showTimeIds") Collection<Long> showTimeIds, @Param("now") LocalDateTime now);
+
+    // ✅ NEW: Free the seats of a cancelled booking
+    @Modifying
+    @Query(value = "UPDATE seat_status SET status = 'AVAILABLE', locked_by_user_id = NULL, lock_expires_at = NULL " +
+            "WHERE showtime_id = :showTimeId AND seat_label IN (:seatLabels) AND status = 'BOOKED'",
+            nativeQuery = true)
+    int releaseBookedSeats(@Param("showTimeId") Long showTimeId, @Param("seatLabels") Collection<String> seatLabels);
+
+    @Modifying
+    @Query(value = "DELETE FROM seat_status WHERE showtime_id = :showTimeId AND seat_label IN (:seatLabels) AND status = 'BOOKED'",
+            nativeQuery = true)
+    int deleteBookedSeats(@Param("showTimeId") Long showTimeId, @Param("seatLabels") Collection<String> seatLabels);
+
+    // ✅ NEW: Outstanding locks, used to rebuild the timer wheel on startup
+    @Query("SELECT s.showTime.id AS showTimeId, s.seatLabel AS seatLabel, s.lockExpiresAt AS lockExpiresAt " +
+           "FROM SeatStatus s WHERE s.status = :status")
+    List<SeatLock> findLocksByStatus(@Param("status") SeatStatus.Status status);
+
+    interface SeatState {
+        String getSeatLabel();
+        SeatStatus.Status getStatus();
+    }
+
+    interface SeatLock {
+        Long getShowTimeId();
+        String getSeatLabel();
+        LocalDateTime getLockExpiresAt();
+    }
+}
@@ -0,0 +1,26 @@
+package com.eventmate.eventmate_backend.repository;
+
+import com.eventmate.eventmate_backend.model.TicketSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TicketSequenceRepository extends JpaRepository<TicketSequence, Long> {
+
+    // Creates the row for an event; a concurrent creator wins silently
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO ticket_sequences (event_id, next_value) VALUES (:eventId, :firstValue)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("firstValue") long firstValue);
+
+    // Moves the sequence past one block; returns 0 if the row doesn't exist yet
+    @Modifying
+    @Query(value = "UPDATE ticket_sequences SET next_value = next_value + :size WHERE event_id = :eventId",
+            nativeQuery = true)
+    int advance(@Param("eventId") Long eventId, @Param("size") int size);
+
+    // Read after advance() in the same transaction: the row lock makes this our own result
+    @Query(value = "SELECT next_value FROM ticket_sequences WHERE event_id = :eventId", nativeQuery = true)
+    Long findNextValue(@Param("eventId") Long eventId);
+}
@@ -1,47 +1,46 @@
 package com.eventmate.eventmate_backend.scheduler;
 
-import com.eventmate.eventmate_backend.model.Booking;
-import com.eventmate.eventmate_backend.repository.BookingRepository;
-import com.eventmate.eventmate_backend.service.BookingService;
+import com.eventmate.eventmate_backend.service.BookingExpiryService;
+import com.eventmate.eventmate_backend.service.BookingHoldService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 @EnableScheduling
 public class BookingCleanupScheduler {
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private BookingExpiryService bookingExpiryService;
 
     @Autowired
-    private BookingService bookingService;
+    private BookingHoldService bookingHoldService;
 
-    // Run every 60 seconds (1 minute)
+    // Holds are cancelled on time by BookingHoldService; its queue is rebuilt here
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHolds() {
+        bookingHoldService.start();
+    }
+
+    // Backstop, every 60 seconds: anything the hold queue skipped (e.g. row was locked at the time)
     @Scheduled(fixedRate = 60000)
     public void cleanupExpiredBookings() {
-        // Expiry time: 10 minutes ago
-        LocalDateTime expiryTime = LocalDateTime.now().minusMinutes(1);
-
-        // Find all bookings that are PENDING and created BEFORE the expiry time
-        List<Booking> expiredBookings = bookingRepository.findByStatusAndBookingDateBefore("PENDING", expiryTime);
-
-        if (!expiredBookings.isEmpty()) {
-            System.out.println("🧹 Scheduler: Found " + expiredBookings.size() + " expired bookings. Cancelling...");
-            
-            for (Booking booking : expiredBookings) {
-                try {
-                    // Reuse the existing cancellation logic (which restores seats)
-                    bookingService.cancelBooking(booking.getId());
-                    System.out.println("   -> Auto-cancelled Booking ID: " + booking.getId());
-                } catch (Exception e) {
-                    System.err.println("   -> Failed to cancel Booking ID: " + booking.getId());
-                }
+        // Expiry time: one hold duration ago
+        LocalDateTime expiryTime = LocalDateTime.now().minus(bookingHoldService.getHoldDuration());
+
+        // ✅ Set-based: cancels expired PENDING bookings a chunk at a time and restores seats
+        try {
+            int expired = bookingExpiryService.expirePendingBefore(expiryTime);
+            if (expired > 0) {
+                System.out.println("🧹 Scheduler: Auto-cancelled " + expired + " expired bookings.");
             }
+        } catch (Exception e) {
+            System.err.println("❌ Scheduler: Booking expiry sweep failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
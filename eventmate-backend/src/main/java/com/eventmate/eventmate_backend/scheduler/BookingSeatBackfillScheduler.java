@@ -0,0 +1,29 @@
+package com.eventmate.eventmate_backend.scheduler;
+
+import com.eventmate.eventmate_backend.service.BookingSeatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookingSeatBackfillScheduler {
+
+    @Autowired
+    private BookingSeatService bookingSeatService;
+
+    // Copies older bookings into booking_seats once per start, off the startup thread.
+    // Already-copied bookings are skipped, so after the first run this is a quick check.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread thread = new Thread(() -> {
+            try {
+                bookingSeatService.backfill();
+            } catch (Exception e) {
+                System.err.println("❌ booking_seats backfill failed (occupancy stays on bookings.seats): " + e.getMessage());
+            }
+        }, "booking-seats-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,38 @@
+package com.eventmate.eventmate_backend.scheduler;
+
+import com.eventmate.eventmate_backend.service.EventIndexUpdater;
+import com.eventmate.eventmate_backend.service.EventSuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventIndexScheduler {
+
+    @Autowired
+    private EventIndexUpdater eventIndexUpdater;
+
+    @Autowired
+    private EventSuggestService eventSuggestService;
+
+    // Builds the in-memory search indexes; afterwards they follow event writes
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        eventIndexUpdater.rebuildAll();
+    }
+
+    // Bookings and cancellations don't write the event itself, so suggestion weights are re-read
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    public void refreshSuggestions() {
+        try {
+            int changed = eventSuggestService.refreshPopularity();
+            if (changed > 0) {
+                System.out.println("🔎 Re-ranked " + changed + " events in search suggestions.");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Failed to refresh search suggestions: " + e.getMessage());
+        }
+    }
+}
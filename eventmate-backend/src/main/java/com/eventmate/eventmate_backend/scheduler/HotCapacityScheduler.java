@@ -0,0 +1,36 @@
+package com.eventmate.eventmate_backend.scheduler;
+
+import com.eventmate.eventmate_backend.service.HotCapacityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HotCapacityScheduler {
+
+    @Autowired
+    private HotCapacityService hotCapacityService;
+
+    // Copy hot-event counters to events.available_seats (one UPDATE per changed event)
+    @Scheduled(fixedRate = 1000)
+    public void flushCounters() {
+        try {
+            hotCapacityService.flush();
+        } catch (Exception e) {
+            System.err.println("❌ Failed to flush hot-event capacity: " + e.getMessage());
+        }
+    }
+
+    // Check the counters against the booking ledger
+    @Scheduled(fixedRate = 30000)
+    public void reconcileCounters() {
+        try {
+            int corrected = hotCapacityService.reconcile();
+            if (corrected > 0) {
+                System.out.println("⚖️ Reconciled " + corrected + " hot-event counters.");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Failed to reconcile hot-event capacity: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventmate.eventmate_backend.scheduler;
+
+import com.eventmate.eventmate_backend.service.OutboxDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxScheduler {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    // Picks up retries that came due and anything left over from before a restart.
+    // Only starts a drain; the sending happens on the dispatcher's own thread.
+    @Scheduled(fixedDelay = 10000)
+    public void dispatchDue() {
+        outboxDispatcher.wakeUp();
+    }
+
+    // Retention: drop sent and failed mail past eventmate.outbox.retention-days
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeFinished() {
+        try {
+            int purged = outboxDispatcher.purgeFinished();
+            if (purged > 0) {
+                System.out.println("🧹 Purged " + purged + " old outbox messages.");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Failed to purge the outbox: " + e.getMessage());
+        }
+    }
+}
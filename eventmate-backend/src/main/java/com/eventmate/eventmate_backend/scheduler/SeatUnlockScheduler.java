@@ -1,36 +1,34 @@
 package com.eventmate.eventmate_backend.scheduler;
 
-import com.eventmate.eventmate_backend.model.SeatStatus;
-import com.eventmate.eventmate_backend.repository.SeatStatusRepository;
+import com.eventmate.eventmate_backend.service.SeatInventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.List;
-
 @Component
 public class SeatUnlockScheduler {
 
     @Autowired
-    private SeatStatusRepository seatStatusRepository;
+    private SeatInventoryService seatInventoryService;
 
-    @Scheduled(fixedRate = 60000) // Run every 1 minute
-    public void unlockExpiredSeats() {
-        // Find seats that are LOCKED and their time has passed
-        List<SeatStatus> expired = seatStatusRepository.findByStatusAndLockExpiresAtBefore(
-                SeatStatus.Status.LOCKED, LocalDateTime.now());
+    // Reload outstanding locks into the timer wheel after a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        seatInventoryService.rebuildLockExpiry();
+    }
 
-        for (SeatStatus seat : expired) {
-            seat.setStatus(SeatStatus.Status.AVAILABLE);
-            seat.setLockedByUserId(null);
-            seat.setLockExpiresAt(null);
-            // Don't forget to save the changes!
-            seatStatusRepository.save(seat);
-        }
-        
-        if (!expired.isEmpty()) {
-            System.out.println("🔓 Released " + expired.size() + " expired seats.");
+    // Advance the lock-expiry wheel once per second (one bulk UPDATE per tick, only when something expired)
+    @Scheduled(fixedRate = 1000)
+    public void unlockExpiredSeats() {
+        try {
+            int released = seatInventoryService.releaseExpiredLocks();
+            if (released > 0) {
+                System.out.println("🔓 Released " + released + " expired seats.");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Failed to release expired seats: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.eventmate.eventmate_backend.scheduler;
+
+import com.eventmate.eventmate_backend.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WaitingRoomScheduler {
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        waitingRoomService.loadRooms();
+    }
+
+    // Let the next batch of each queue through (eventmate.waiting-room.admit-per-second)
+    @Scheduled(fixedRate = 1000)
+    public void admitNext() {
+        waitingRoomService.admitNext();
+    }
+}
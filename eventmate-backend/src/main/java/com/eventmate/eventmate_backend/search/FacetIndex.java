@@ -0,0 +1,305 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Faceted filtering over bitmaps.
+ *
+ * Every document gets an ordinal (freed ordinals are reused, so the bitmaps are only as wide
+ * as the most documents ever indexed at once) and every facet value a bitmap of the ordinals
+ * that have it. A filter ORs the selected values of each facet and ANDs the facets together;
+ * the count for a value is the cardinality of its bitmap ANDed with the filters on the other
+ * facets, so picking "Music" still shows how many "Comedy" events there are. Safe for
+ * concurrent readers and writers.
+ */
+public class FacetIndex {
+
+    private final String[] facets;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Facet -> value -> ordinals; values sorted so counts come out in a stable order
+    private final List<TreeMap<String, Bits>> bitmaps = new ArrayList<>();
+    private Bits live = new Bits(0);
+
+    private final Map<Long, Integer> ordinalOf = new HashMap<>();
+    private long[] docOf = new long[64];
+    private long[] sortKeyOf = new long[64];
+    private String[][] valuesOf = new String[64][];
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int ordinals;
+
+    public record Result(List<Long> docIds, int total, Map<String, Map<String, Integer>> counts) {
+    }
+
+    public FacetIndex(String... facets) {
+        this.facets = facets.clone();
+        for (int f = 0; f < facets.length; f++) {
+            bitmaps.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) a document. {@code values[i]} is its value for the i-th facet
+     * (null for none); results come back in ascending {@code sortKey}, then id.
+     */
+    public void put(long docId, long sortKey, String[] values) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            int ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : newOrdinal();
+            docOf[ordinal] = docId;
+            sortKeyOf[ordinal] = sortKey;
+            valuesOf[ordinal] = values.clone();
+            for (int f = 0; f < facets.length; f++) {
+                if (values[f] != null) bitmaps.get(f).computeIfAbsent(values[f], v -> new Bits(ordinals)).set(ordinal);
+            }
+            live.set(ordinal);
+            ordinalOf.put(docId, ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (TreeMap<String, Bits> values : bitmaps) {
+                values.clear();
+            }
+            live = new Bits(0);
+            ordinalOf.clear();
+            Arrays.fill(valuesOf, 0, ordinals, null);
+            freeCount = 0;
+            ordinals = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching {@code filters} (facet -> accepted values; a facet that is absent or
+     * empty accepts everything), {@code limit} of them from {@code offset}, with the total and
+     * the count of every value of every facet.
+     */
+    public Result query(Map<String, ? extends Collection<String>> filters, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Bitmaps may be allocated wider; only the words that hold ordinals are looked at
+            int words = (ordinals + 63) >>> 6;
+            // Per facet, the union of its selected values, or null when it isn't filtered
+            long[][] selected = new long[facets.length][];
+            for (int f = 0; f < facets.length; f++) {
+                Collection<String> accepted = filters.get(facets[f]);
+                if (accepted == null || accepted.isEmpty()) continue;
+                long[] union = new long[words];
+                for (String value : accepted) {
+                    Bits bits = bitmaps.get(f).get(value);
+                    if (bits != null) Bits.or(union, bits.words, words);
+                }
+                selected[f] = union;
+            }
+
+            long[] matching = Arrays.copyOf(live.words, words);
+            for (long[] union : selected) {
+                if (union != null) Bits.and(matching, union, words);
+            }
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (int f = 0; f < facets.length; f++) {
+                long[] base = matching;
+                if (selected[f] != null) {
+                    base = Arrays.copyOf(live.words, words);
+                    for (int other = 0; other < facets.length; other++) {
+                        if (other != f && selected[other] != null) Bits.and(base, selected[other], words);
+                    }
+                }
+                Map<String, Integer> valueCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, Bits> entry : bitmaps.get(f).entrySet()) {
+                    valueCounts.put(entry.getKey(), Bits.andCardinality(base, entry.getValue().words, words));
+                }
+                counts.put(facets[f], valueCounts);
+            }
+
+            return new Result(page(matching, offset, limit), Bits.cardinality(matching), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The matching ordinals ranked offset..offset+limit by (sort key, doc id). Keeps the best
+    // offset+limit in a max-heap of plain ints, so the root is the one to beat.
+    private List<Long> page(long[] matching, int offset, int limit) {
+        int keep = offset + limit;
+        if (limit < 1 || keep < 1) return List.of();
+        int[] heap = new int[Math.min(keep, 1024)];
+        int size = 0;
+        for (int w = 0; w < matching.length; w++) {
+            long word = matching[w];
+            while (word != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (size < keep) {
+                    if (size == heap.length) heap = Arrays.copyOf(heap, Math.min(keep, size * 2));
+                    heap[size] = ordinal;
+                    siftUp(heap, size++);
+                } else if (compare(ordinal, heap[0]) < 0) {
+                    heap[0] = ordinal;
+                    siftDown(heap, size);
+                }
+            }
+        }
+        // Popping the max repeatedly leaves the heap sorted ascending
+        for (int end = size - 1; end > 0; end--) {
+            int top = heap[0];
+            heap[0] = heap[end];
+            heap[end] = top;
+            siftDown(heap, end);
+        }
+        List<Long> docIds = new ArrayList<>(limit);
+        for (int i = offset; i < size; i++) {
+            docIds.add(docOf[heap[i]]);
+        }
+        return docIds;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int ordinal = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(heap[parent], ordinal) >= 0) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = ordinal;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int ordinal = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) > 0) child++;
+            if (compare(heap[child], ordinal) <= 0) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = ordinal;
+    }
+
+    private int compare(int a, int b) {
+        int bySortKey = Long.compare(sortKeyOf[a], sortKeyOf[b]);
+        return bySortKey != 0 ? bySortKey : Long.compare(docOf[a], docOf[b]);
+    }
+
+    private int newOrdinal() {
+        if (ordinals == docOf.length) {
+            int capacity = ordinals * 2;
+            docOf = Arrays.copyOf(docOf, capacity);
+            sortKeyOf = Arrays.copyOf(sortKeyOf, capacity);
+            valuesOf = Arrays.copyOf(valuesOf, capacity);
+        }
+        int ordinal = ordinals++;
+        live.grow(ordinals);
+        for (TreeMap<String, Bits> values : bitmaps) {
+            for (Bits bits : values.values()) {
+                bits.grow(ordinals);
+            }
+        }
+        return ordinal;
+    }
+
+    private void removeLocked(long docId) {
+        Integer ordinal = ordinalOf.remove(docId);
+        if (ordinal == null) return;
+        live.clear(ordinal);
+        String[] values = valuesOf[ordinal];
+        for (int f = 0; f < facets.length; f++) {
+            if (values[f] == null) continue;
+            Bits bits = bitmaps.get(f).get(values[f]);
+            bits.clear(ordinal);
+            // A value nothing has any more (last month's events) stops being listed
+            if (bits.cardinality == 0) bitmaps.get(f).remove(values[f]);
+        }
+        valuesOf[ordinal] = null;
+        if (freeCount == freeOrdinals.length) freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    // A plain long[] bitmap; every bitmap is grown to cover every ordinal handed out
+    private static final class Bits {
+        private long[] words;
+        private int cardinality;
+
+        Bits(int bits) {
+            words = new long[(bits + 63) >>> 6];
+        }
+
+        void grow(int bits) {
+            int needed = (bits + 63) >>> 6;
+            if (needed > words.length) words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+
+        void set(int bit) {
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                words[bit >>> 6] |= mask;
+                cardinality++;
+            }
+        }
+
+        void clear(int bit) {
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) != 0) {
+                words[bit >>> 6] &= ~mask;
+                cardinality--;
+            }
+        }
+
+        static void and(long[] target, long[] other, int words) {
+            for (int i = 0; i < words; i++) {
+                target[i] &= other[i];
+            }
+        }
+
+        static void or(long[] target, long[] other, int words) {
+            for (int i = 0; i < words; i++) {
+                target[i] |= other[i];
+            }
+        }
+
+        static int andCardinality(long[] a, long[] b, int words) {
+            int count = 0;
+            for (int i = 0; i < words; i++) {
+                count += Long.bitCount(a[i] & b[i]);
+            }
+            return count;
+        }
+
+        static int cardinality(long[] bits) {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
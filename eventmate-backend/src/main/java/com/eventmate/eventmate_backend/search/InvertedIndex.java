@@ -0,0 +1,290 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ *
+ * Every stored version of a document gets an ordinal; each term keeps its postings as two
+ * parallel int arrays (ordinals ascending, weighted term frequencies). Updating a document
+ * appends a new ordinal and marks the old one dead, so postings only ever grow at the end;
+ * once dead ordinals outnumber live ones the postings are compacted. Fields are weighted by
+ * repeating their terms (a title word counts more than a description word).
+ *
+ * The last word of a query is also matched as a prefix, so a half-typed word still finds
+ * results. Safe for concurrent readers and writers.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_TERMS = 32;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_COMPACT_DEAD = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted, so a prefix is a sub-map
+    private final TreeMap<String, Integer> termIds = new TreeMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+
+    private final Map<Long, Integer> ordinalOf = new HashMap<>();
+    private long[] docOf = new long[64];
+    private int[] lengthOf = new int[64];
+    private int[][] termsOf = new int[64][];
+    private final BitSet live = new BitSet();
+    private int ordinals;
+    private int liveDocs;
+    private long liveLength;
+
+    private final ThreadLocal<float[]> scratch = ThreadLocal.withInitial(() -> new float[0]);
+
+    public record Hit(long docId, double score) {
+    }
+
+    /**
+     * Indexes (or re-indexes) a document. {@code fields[i]} counts {@code weights[i]} times.
+     */
+    public void put(long docId, String[] fields, int[] weights) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (int f = 0; f < fields.length; f++) {
+            for (String term : TextAnalyzer.terms(fields[f])) {
+                frequencies.merge(term, weights[f], Integer::sum);
+                length += weights[f];
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            int ordinal = newOrdinal(docId, length);
+            int[] terms = new int[frequencies.size()];
+            int t = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(entry.getKey(), key -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).add(ordinal, entry.getValue());
+                terms[t++] = termId;
+            }
+            termsOf[ordinal] = terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postings.clear();
+            ordinalOf.clear();
+            live.clear();
+            ordinals = 0;
+            liveDocs = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} documents matching any query term, best BM25 score first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = TextAnalyzer.tokens(query);
+        if (tokens.isEmpty() || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return List.of();
+            Set<Integer> queryTerms = new LinkedHashSet<>();
+            for (String term : TextAnalyzer.terms(query)) {
+                Integer id = termIds.get(term);
+                if (id != null) queryTerms.add(id);
+            }
+            boolean typing = !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+            if (typing) {
+                addPrefixTerms(tokens.get(tokens.size() - 1), queryTerms);
+            }
+            if (queryTerms.isEmpty()) return List.of();
+
+            float[] scores = scratch.get();
+            if (scores.length < ordinals) {
+                scores = new float[Math.max(ordinals, scores.length * 2)];
+                scratch.set(scores);
+            }
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            double avgLength = (double) liveLength / liveDocs;
+            for (int termId : queryTerms) {
+                Postings list = postings.get(termId);
+                if (list.liveDf == 0) continue;
+                double idf = Math.log(1 + (liveDocs - list.liveDf + 0.5) / (list.liveDf + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = list.ordinals[i];
+                    if (!live.get(ordinal)) continue;
+                    int tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * lengthOf[ordinal] / avgLength);
+                    if (scores[ordinal] == 0) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                        touched[touchedCount++] = ordinal;
+                    }
+                    scores[ordinal] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                double score = scores[ordinal];
+                scores[ordinal] = 0;
+                if (top.size() < limit) {
+                    top.add(new Hit(docOf[ordinal], score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(docOf[ordinal], score));
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Completions of the word being typed, plus the longest known term it already starts with
+    private void addPrefixTerms(String partial, Set<Integer> queryTerms) {
+        if (partial.length() < MIN_PREFIX_LENGTH) return;
+        int added = 0;
+        for (Integer id : termIds.subMap(partial, partial + Character.MAX_VALUE).values()) {
+            if (added++ == MAX_PREFIX_TERMS) break;
+            queryTerms.add(id);
+        }
+        for (int k = partial.length() - 1; k >= 4; k--) {
+            Integer id = termIds.get(partial.substring(0, k));
+            if (id != null) {
+                queryTerms.add(id);
+                break;
+            }
+        }
+    }
+
+    private int newOrdinal(long docId, int length) {
+        if (ordinals == docOf.length) {
+            int capacity = ordinals * 2;
+            docOf = Arrays.copyOf(docOf, capacity);
+            lengthOf = Arrays.copyOf(lengthOf, capacity);
+            termsOf = Arrays.copyOf(termsOf, capacity);
+        }
+        int ordinal = ordinals++;
+        docOf[ordinal] = docId;
+        lengthOf[ordinal] = length;
+        live.set(ordinal);
+        ordinalOf.put(docId, ordinal);
+        liveDocs++;
+        liveLength += length;
+        return ordinal;
+    }
+
+    private void removeLocked(long docId) {
+        Integer ordinal = ordinalOf.remove(docId);
+        if (ordinal == null) return;
+        live.clear(ordinal);
+        liveDocs--;
+        liveLength -= lengthOf[ordinal];
+        for (int termId : termsOf[ordinal]) {
+            postings.get(termId).liveDf--;
+        }
+        termsOf[ordinal] = null;
+
+        int dead = ordinals - liveDocs;
+        if (dead > MIN_COMPACT_DEAD && dead > liveDocs) {
+            compact();
+        }
+    }
+
+    // Renumbers live ordinals 0..liveDocs-1 and drops dead postings
+    private void compact() {
+        int[] remap = new int[ordinals];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+            if (live.get(ordinal)) {
+                remap[ordinal] = next;
+                docOf[next] = docOf[ordinal];
+                lengthOf[next] = lengthOf[ordinal];
+                termsOf[next] = termsOf[ordinal];
+                ordinalOf.put(docOf[next], next);
+                next++;
+            } else {
+                remap[ordinal] = -1;
+            }
+        }
+        for (Postings list : postings) {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int mapped = remap[list.ordinals[i]];
+                if (mapped >= 0) {
+                    list.ordinals[kept] = mapped;
+                    list.frequencies[kept] = list.frequencies[i];
+                    kept++;
+                }
+            }
+            list.size = kept;
+        }
+        Arrays.fill(termsOf, next, ordinals, null);
+        live.clear();
+        live.set(0, next);
+        ordinals = next;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int liveDf;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+            liveDf++;
+        }
+    }
+}
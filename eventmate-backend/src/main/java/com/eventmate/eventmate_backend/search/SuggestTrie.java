@@ -0,0 +1,365 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over short phrases (event titles, locations, categories), most popular first.
+ *
+ * Phrases live in a radix trie (edges carry whole strings, so a node exists only where keys
+ * branch) under their normalised form and under every later word start, so "singh" finds
+ * "Arijit Singh Live". Every node caches the top {@link #TOP_K} suggestions of its subtree,
+ * which makes a lookup one walk down the prefix. Adding weight to a phrase moves it up those
+ * caches along its own paths, stopping at the first node where it doesn't make the cut; taking
+ * weight away recomputes them along its paths from the children.
+ *
+ * The same phrase added by several events is one suggestion whose weight is the sum.
+ */
+public class SuggestTrie {
+
+    public static final int TOP_K = 10;
+
+    // A phrase is reachable from this many of its word starts at most
+    private static final int MAX_WORD_STARTS = 6;
+
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingLong((Suggestion s) -> s.weight).reversed().thenComparing(s -> s.text);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node("");
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+
+    public record Completion(String text, String kind, Long eventId, long weight) {
+    }
+
+    /**
+     * Adds {@code weight} to the suggestion for ({@code text}, {@code kind}), creating it if needed.
+     * {@code eventId} is remembered so a phrase used by a single event can link to it.
+     */
+    public void add(String text, String kind, long weight, Long eventId) {
+        String normalized = normalize(text, false);
+        if (normalized.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            String id = kind + '\u0000' + normalized;
+            Suggestion suggestion = suggestions.get(id);
+            boolean created = suggestion == null;
+            if (created) {
+                suggestion = new Suggestion(text.trim(), kind, keysOf(normalized));
+                suggestions.put(id, suggestion);
+            }
+            suggestion.weight += weight;
+            suggestion.refs++;
+            if (eventId != null) suggestion.eventIds.add(eventId);
+
+            for (String key : suggestion.keys) {
+                promote(created ? insert(key, suggestion) : find(key), suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Undoes one {@link #add} with the same arguments; the suggestion goes when nothing uses it.
+     */
+    public void remove(String text, String kind, long weight, Long eventId) {
+        String normalized = normalize(text, false);
+        if (normalized.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            String id = kind + '\u0000' + normalized;
+            Suggestion suggestion = suggestions.get(id);
+            if (suggestion == null) return;
+            suggestion.weight -= weight;
+            suggestion.refs--;
+            if (eventId != null) suggestion.eventIds.remove(eventId);
+
+            boolean gone = suggestion.refs <= 0;
+            if (gone) suggestions.remove(id);
+            for (String key : suggestion.keys) {
+                List<Node> path = gone ? delete(key, suggestion) : find(key);
+                refresh(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            suggestions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} (at most {@link #TOP_K}) suggestions starting with {@code prefix} at
+     * the start of the phrase or of one of its words.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix, true);
+        if (key.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = child(node, key.charAt(i));
+                if (child == null) return List.of();
+                int common = commonPrefix(child.edge, key, i);
+                if (common < child.edge.length() && i + common < key.length()) return List.of();
+                node = child;
+                i += common;
+            }
+            int count = Math.min(Math.min(limit, TOP_K), node.top.length);
+            List<Completion> completions = new ArrayList<>(count);
+            for (int s = 0; s < count; s++) {
+                Suggestion suggestion = node.top[s];
+                Long eventId = suggestion.eventIds.size() == 1 ? suggestion.eventIds.iterator().next() : null;
+                completions.add(new Completion(suggestion.text, suggestion.kind, eventId, suggestion.weight));
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercase words separated by single spaces; a query keeps one trailing space ("jazz ")
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null) return "";
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && out.length() > 0) out.append(' ');
+                out.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        if (keepTrailingSpace && space && out.length() > 0) out.append(' ');
+        return out.toString();
+    }
+
+    private static String[] keysOf(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = 0; i < normalized.length() && keys.size() < MAX_WORD_STARTS; i++) {
+            if (normalized.charAt(i) == ' ') keys.add(normalized.substring(i + 1));
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    // Adds the suggestion at the end of key, splitting an edge if the key ends or branches inside it
+    private List<Node> insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(key.substring(i));
+                addChild(node, leaf);
+                node = leaf;
+                path.add(node);
+                i = key.length();
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                Node middle = new Node(child.edge.substring(0, common));
+                replaceChild(node, middle);
+                child.edge = child.edge.substring(common);
+                middle.children = new Node[] {child};
+                middle.top = child.top;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        node.terminals = append(node.terminals, suggestion);
+        return path;
+    }
+
+    // Removes the suggestion from the end of key and prunes nodes left empty
+    private List<Node> delete(String key, Suggestion suggestion) {
+        List<Node> path = find(key);
+        if (path.isEmpty()) return path;
+        Node end = path.get(path.size() - 1);
+        end.terminals = without(end.terminals, suggestion);
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node node = path.get(p);
+            if (node.terminals.length > 0 || node.children.length > 0) break;
+            removeChild(path.get(p - 1), node);
+            path.remove(p);
+        }
+        return path;
+    }
+
+    // Nodes from the root to the one where key ends exactly, or empty
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) return new ArrayList<>();
+            node = child;
+            path.add(node);
+            i += child.edge.length();
+        }
+        return path;
+    }
+
+    // The suggestion gained weight: re-rank it in the cached top lists from the deepest node up.
+    // A node it doesn't make the top of is no different above, as ancestors' cut-offs are higher.
+    private static void promote(List<Node> path, Suggestion suggestion) {
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node node = path.get(p);
+            Suggestion[] top = node.top;
+            int at = indexOf(top, suggestion);
+            if (at < 0) {
+                if (top.length == TOP_K && BY_WEIGHT.compare(suggestion, top[TOP_K - 1]) >= 0) return;
+                top = top.length == TOP_K ? top.clone() : Arrays.copyOf(top, top.length + 1);
+                at = top.length - 1;
+            } else {
+                top = top.clone();
+            }
+            // Readers hold the read lock, but a fresh array keeps a half-sorted one out of sight anyway
+            while (at > 0 && BY_WEIGHT.compare(suggestion, top[at - 1]) < 0) {
+                top[at] = top[at - 1];
+                at--;
+            }
+            top[at] = suggestion;
+            node.top = top;
+        }
+    }
+
+    // Recomputes the cached top lists from the children, from the deepest node up
+    private static void refresh(List<Node> path) {
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node node = path.get(p);
+            Set<Suggestion> seen = new HashSet<>(Arrays.asList(node.terminals));
+            List<Suggestion> candidates = new ArrayList<>(seen);
+            for (Node child : node.children) {
+                for (Suggestion suggestion : child.top) {
+                    if (seen.add(suggestion)) candidates.add(suggestion);
+                }
+            }
+            candidates.sort(BY_WEIGHT);
+            node.top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+    }
+
+    private static int indexOf(Suggestion[] array, Suggestion suggestion) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == suggestion) return i;
+        }
+        return -1;
+    }
+
+    private static Node child(Node node, char first) {
+        int index = indexOf(node, first);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    // Children are kept sorted by their first character
+    private static int indexOf(Node node, char first) {
+        int lo = 0;
+        int hi = node.children.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char c = node.children[mid].edge.charAt(0);
+            if (c < first) lo = mid + 1;
+            else if (c > first) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private static void addChild(Node node, Node child) {
+        int insertAt = -(indexOf(node, child.edge.charAt(0)) + 1);
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, insertAt);
+        children[insertAt] = child;
+        System.arraycopy(node.children, insertAt, children, insertAt + 1, node.children.length - insertAt);
+        node.children = children;
+    }
+
+    private static void replaceChild(Node node, Node child) {
+        node.children[indexOf(node, child.edge.charAt(0))] = child;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = indexOf(node, child.edge.charAt(0));
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children.length == 0 ? NO_NODES : children;
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int max = Math.min(edge.length(), key.length() - from);
+        int n = 0;
+        while (n < max && edge.charAt(n) == key.charAt(from + n)) n++;
+        return n;
+    }
+
+    private static Suggestion[] append(Suggestion[] array, Suggestion suggestion) {
+        Suggestion[] grown = Arrays.copyOf(array, array.length + 1);
+        grown[array.length] = suggestion;
+        return grown;
+    }
+
+    private static Suggestion[] without(Suggestion[] array, Suggestion suggestion) {
+        List<Suggestion> kept = new ArrayList<>(Arrays.asList(array));
+        kept.remove(suggestion);
+        return kept.toArray(NO_SUGGESTIONS);
+    }
+
+    private static final class Node {
+        private String edge;
+        private Node[] children = NO_NODES;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private static final class Suggestion {
+        private final String text;
+        private final String kind;
+        private final String[] keys;
+        private final Set<Long> eventIds = new LinkedHashSet<>();
+        private long weight;
+        private int refs;
+
+        Suggestion(String text, String kind, String[] keys) {
+            this.text = text;
+            this.kind = kind;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase, lightly stemmed search terms.
+ *
+ * Tokens are runs of letters and digits; a handful of English stop words are dropped. Stemming
+ * only strips common inflections ("concerts" -> "concert", "dancing" and "dance" -> "danc",
+ * "comedies" and "comedy" -> "comedi") so the same rules applied to a query and to an event
+ * meet in the middle; it isn't meant to produce dictionary words.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Stemmed terms of {@code text}, in order, duplicates kept.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : tokens(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lowercase tokens of {@code text} without stemming or stop-word removal.
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean word = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public static String stem(String token) {
+        if (token.length() <= 3 || !Character.isLetter(token.charAt(token.length() - 1))) return token;
+        String s = stripSuffix(token);
+        // "dance"/"dancing" -> "danc", "comedy"/"comedies" -> "comedi"
+        int m = s.length();
+        if (m > 3 && s.charAt(m - 1) == 'e') return s.substring(0, m - 1);
+        if (m > 3 && s.charAt(m - 1) == 'y' && !isVowel(s.charAt(m - 2))) return s.substring(0, m - 1) + "i";
+        return s;
+    }
+
+    private static String stripSuffix(String token) {
+        int n = token.length();
+        if (token.endsWith("ies") && n > 4) return token.substring(0, n - 3) + "i";
+        if (token.endsWith("sses")) return token.substring(0, n - 2);
+        if (token.endsWith("ing") && n > 5) return token.substring(0, n - 3);
+        if (token.endsWith("ed") && n > 4) return token.substring(0, n - 2);
+        if (token.endsWith("es") && n > 4 && isSibilant(token.charAt(n - 3))) return token.substring(0, n - 2);
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) return token.substring(0, n - 1);
+        return token;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    // "boxes", "matches", "buzzes" lose "es"; "movies" is handled by "ies", "tunes" by "s"
+    private static boolean isSibilant(char c) {
+        return c == 'x' || c == 'h' || c == 'z' || c == 's';
+    }
+}
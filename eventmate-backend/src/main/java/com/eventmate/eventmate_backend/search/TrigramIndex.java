@@ -0,0 +1,417 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant word matching: "arjit sing" finds "Arijit Singh".
+ *
+ * The distinct words of all documents form a vocabulary, and each word is indexed by its
+ * trigrams (padded like pg_trgm, "  ab", " ab", ...) and its bigrams (" a", "ab", ...), with
+ * how often each occurs. A word of length n has n + 1 of either, and one edit destroys at most
+ * four trigrams or three bigrams, so a word within the query word's edit budget shares at least
+ * n + 1 - 4 * budget trigrams with it (counting repeats), both ways. Only vocabulary words
+ * meeting that bound are confirmed with a bounded Levenshtein distance that also counts
+ * swapping two neighbouring letters ("mumbia") as one edit. Seven letters with two edits leave
+ * no trigram to require, so those query words use the bigram bound instead, which still asks
+ * for two.
+ * Documents then score the closeness of their best match for every query word, times the
+ * field weight. Per-query work follows the n-gram and word posting lists, never the whole
+ * vocabulary or catalog.
+ *
+ * Documents get ordinals the way {@link InvertedIndex} does: re-indexing marks the old one
+ * dead, and the index is rebuilt from its live documents once dead ones outnumber them.
+ * Safe for concurrent readers and writers.
+ */
+public class TrigramIndex {
+
+    private static final int MIN_COMPACT_DEAD = 1024;
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MAX_WORD_LENGTH = 40;
+    // A substitution touches three padded trigrams (two bigrams), a transposition four (three)
+    private static final int TRIGRAMS_PER_EDIT = 4;
+    private static final int BIGRAMS_PER_EDIT = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Vocabulary: word -> id, and the documents using each word
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final List<Postings> wordDocs = new ArrayList<>();
+
+    // N-gram -> ids of the vocabulary words containing it
+    private final GramIndex trigrams = new GramIndex(3, TRIGRAMS_PER_EDIT);
+    private final GramIndex bigrams = new GramIndex(2, BIGRAMS_PER_EDIT);
+
+    private final Map<Long, Integer> ordinalOf = new HashMap<>();
+    private long[] docOf = new long[64];
+    private int[][] wordsOf = new int[64][];
+    private int[][] weightsOf = new int[64][];
+    private final BitSet live = new BitSet();
+    private int ordinals;
+    private int liveDocs;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public record Hit(long docId, double score) {
+    }
+
+    /**
+     * Indexes (or re-indexes) a document; a word in {@code fields[i]} counts {@code weights[i]}.
+     */
+    public void put(long docId, String[] fields, int[] weights) {
+        Map<String, Integer> best = new HashMap<>();
+        for (int f = 0; f < fields.length; f++) {
+            for (String token : TextAnalyzer.tokens(fields[f])) {
+                if (token.length() <= MAX_WORD_LENGTH) best.merge(token, weights[f], Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            add(docId, best);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} documents containing a close spelling of at least one query word,
+     * best first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokens(query)));
+        if (tokens.isEmpty() || limit < 1) return List.of();
+        if (tokens.size() > MAX_QUERY_WORDS) tokens = tokens.subList(0, MAX_QUERY_WORDS);
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return List.of();
+            Scratch s = scratch.get();
+            s.ensure(words.size(), ordinals);
+
+            for (String token : tokens) {
+                if (token.length() > MAX_WORD_LENGTH) continue;
+                int[] matched = matchWords(token, s);
+                // Best match of this query word per document, then added to the document's score
+                for (int m = 0; m < matched.length; m += 2) {
+                    Postings docs = wordDocs.get(matched[m]);
+                    float closeness = matched[m + 1] / 1000f;
+                    for (int i = 0; i < docs.size; i++) {
+                        int ordinal = docs.ids[i];
+                        if (!live.get(ordinal)) continue;
+                        float value = closeness * docs.weights[i];
+                        if (s.best[ordinal] == 0) s.bestTouched = s.push(s.bestTouched, s.bestCount++, ordinal);
+                        if (value > s.best[ordinal]) s.best[ordinal] = value;
+                    }
+                }
+                for (int i = 0; i < s.bestCount; i++) {
+                    int ordinal = s.bestTouched[i];
+                    if (s.scores[ordinal] == 0) s.scoreTouched = s.push(s.scoreTouched, s.scoreCount++, ordinal);
+                    s.scores[ordinal] += s.best[ordinal];
+                    s.best[ordinal] = 0;
+                }
+                s.bestCount = 0;
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+            for (int i = 0; i < s.scoreCount; i++) {
+                int ordinal = s.scoreTouched[i];
+                double score = s.scores[ordinal];
+                s.scores[ordinal] = 0;
+                if (top.size() < limit) {
+                    top.add(new Hit(docOf[ordinal], score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(docOf[ordinal], score));
+                }
+            }
+            s.scoreCount = 0;
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Typos allowed in a word of this length
+    static int maxEdits(int length) {
+        if (length <= 3) return 0;
+        return length <= 6 ? 1 : 2;
+    }
+
+    // Vocabulary words within the token's edit budget, as (word id, closeness * 1000) pairs
+    private int[] matchWords(String token, Scratch s) {
+        int budget = maxEdits(token.length());
+        GramIndex index = token.length() + 1 > TRIGRAMS_PER_EDIT * budget ? trigrams : bigrams;
+        int lost = index.perEdit * budget;
+        int needed = token.length() + 1 - lost;
+
+        // Shared n-grams per vocabulary word, each counted as often as both words contain it
+        int touchedCount = 0;
+        for (Map.Entry<String, Integer> gram : grams(token, index.n).entrySet()) {
+            Integer id = index.ids.get(gram.getKey());
+            if (id == null) continue;
+            Postings list = index.words.get(id);
+            for (int i = 0; i < list.size; i++) {
+                int word = list.ids[i];
+                if (s.shared[word] == 0) s.wordTouched = s.push(s.wordTouched, touchedCount++, word);
+                s.shared[word] += Math.min(gram.getValue(), list.weights[i]);
+            }
+        }
+
+        int[] matched = new int[16];
+        int matchedCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int word = s.wordTouched[i];
+            int shared = s.shared[word];
+            s.shared[word] = 0;
+            if (wordDocs.get(word).liveDf == 0) continue;
+            String candidate = words.get(word);
+            if (shared < needed || shared < candidate.length() + 1 - lost) continue;
+            int distance = boundedLevenshtein(token, candidate, budget);
+            if (distance > budget) continue;
+            if (matchedCount == matched.length) matched = Arrays.copyOf(matched, matchedCount * 2);
+            matched[matchedCount++] = word;
+            matched[matchedCount++] = 1000 - 1000 * distance / (Math.max(token.length(), candidate.length()) + 1);
+        }
+        return Arrays.copyOf(matched, matchedCount);
+    }
+
+    /**
+     * Edit distance between {@code a} and {@code b} (insertions, deletions, substitutions and
+     * swaps of neighbouring letters), or {@code max + 1} as soon as it must exceed {@code max}.
+     * Only the diagonal band of width {@code 2 * max + 1} is computed.
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+        int big = max + 1;
+        int[] beforePrevious = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j <= max ? j : big;
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : big;
+            if (from > 1) current[from - 1] = big;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                char cb = b.charAt(j - 1);
+                int value = Math.min(previous[j - 1] + (ca == cb ? 0 : 1), Math.min(previous[j] + 1, current[j - 1] + 1));
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = Math.min(value, big);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) current[to + 1] = big;
+            if (rowMin > max) return big;
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], big);
+    }
+
+    // N-grams of a word padded with n - 1 spaces in front and one behind (length + 1 of them),
+    // with how often each occurs
+    static Map<String, Integer> grams(String word, int n) {
+        String padded = " ".repeat(n - 1) + word + " ";
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + n <= padded.length(); i++) {
+            grams.merge(padded.substring(i, i + n), 1, Integer::sum);
+        }
+        return grams;
+    }
+
+    private void add(long docId, Map<String, Integer> best) {
+        if (ordinals == docOf.length) {
+            int capacity = ordinals * 2;
+            docOf = Arrays.copyOf(docOf, capacity);
+            wordsOf = Arrays.copyOf(wordsOf, capacity);
+            weightsOf = Arrays.copyOf(weightsOf, capacity);
+        }
+        int ordinal = ordinals++;
+        int[] ids = new int[best.size()];
+        int[] weights = new int[best.size()];
+        int w = 0;
+        for (Map.Entry<String, Integer> entry : best.entrySet()) {
+            int word = wordId(entry.getKey());
+            wordDocs.get(word).add(ordinal, entry.getValue());
+            ids[w] = word;
+            weights[w] = entry.getValue();
+            w++;
+        }
+        docOf[ordinal] = docId;
+        wordsOf[ordinal] = ids;
+        weightsOf[ordinal] = weights;
+        live.set(ordinal);
+        ordinalOf.put(docId, ordinal);
+        liveDocs++;
+    }
+
+    private int wordId(String word) {
+        Integer existing = wordIds.get(word);
+        if (existing != null) return existing;
+        int id = words.size();
+        wordIds.put(word, id);
+        words.add(word);
+        wordDocs.add(new Postings());
+        trigrams.add(id, word);
+        bigrams.add(id, word);
+        return id;
+    }
+
+    private void removeLocked(long docId) {
+        Integer ordinal = ordinalOf.remove(docId);
+        if (ordinal == null) return;
+        live.clear(ordinal);
+        liveDocs--;
+        for (int word : wordsOf[ordinal]) {
+            wordDocs.get(word).liveDf--;
+        }
+
+        int dead = ordinals - liveDocs;
+        if (dead > MIN_COMPACT_DEAD && dead > liveDocs) {
+            rebuildFromLive();
+        }
+    }
+
+    // Drops dead ordinals and words no live document uses any more
+    private void rebuildFromLive() {
+        List<Long> ids = new ArrayList<>(liveDocs);
+        List<Map<String, Integer>> contents = new ArrayList<>(liveDocs);
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            Map<String, Integer> best = new HashMap<>();
+            for (int w = 0; w < wordsOf[ordinal].length; w++) {
+                best.put(words.get(wordsOf[ordinal][w]), weightsOf[ordinal][w]);
+            }
+            ids.add(docOf[ordinal]);
+            contents.add(best);
+        }
+        clearLocked();
+        for (int i = 0; i < ids.size(); i++) {
+            add(ids.get(i), contents.get(i));
+        }
+    }
+
+    private void clearLocked() {
+        wordIds.clear();
+        words.clear();
+        wordDocs.clear();
+        trigrams.clear();
+        bigrams.clear();
+        ordinalOf.clear();
+        Arrays.fill(wordsOf, 0, ordinals, null);
+        Arrays.fill(weightsOf, 0, ordinals, null);
+        live.clear();
+        ordinals = 0;
+        liveDocs = 0;
+    }
+
+    // Ids ascending with a weight each; liveDf counts entries whose document is still live
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+        private int liveDf;
+
+        void add(int id, int weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+            liveDf++;
+        }
+    }
+
+    // N-gram -> vocabulary words containing it, each with the number of occurrences as weight
+    private static final class GramIndex {
+        private final int n;
+        private final int perEdit;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<Postings> words = new ArrayList<>();
+
+        GramIndex(int n, int perEdit) {
+            this.n = n;
+            this.perEdit = perEdit;
+        }
+
+        void add(int wordId, String word) {
+            for (Map.Entry<String, Integer> gram : grams(word, n).entrySet()) {
+                int gramId = ids.computeIfAbsent(gram.getKey(), key -> {
+                    words.add(new Postings());
+                    return words.size() - 1;
+                });
+                words.get(gramId).add(wordId, gram.getValue());
+            }
+        }
+
+        void clear() {
+            ids.clear();
+            words.clear();
+        }
+    }
+
+    // Per-thread counters, sized to the vocabulary and ordinals and left zeroed between queries
+    private static final class Scratch {
+        private int[] shared = new int[0];
+        private float[] best = new float[0];
+        private float[] scores = new float[0];
+        private int[] wordTouched = new int[16];
+        private int[] bestTouched = new int[16];
+        private int[] scoreTouched = new int[16];
+        private int bestCount;
+        private int scoreCount;
+
+        void ensure(int vocabulary, int ordinals) {
+            if (shared.length < vocabulary) shared = new int[Math.max(vocabulary, shared.length * 2)];
+            if (best.length < ordinals) {
+                int capacity = Math.max(ordinals, best.length * 2);
+                best = new float[capacity];
+                scores = new float[capacity];
+            }
+        }
+
+        int[] push(int[] array, int index, int value) {
+            if (index == array.length) array = Arrays.copyOf(array, index * 2);
+            array[index] = value;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.BookingRepository.ExpiredBooking;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cancels abandoned PENDING bookings in bulk.
+ *
+ * Bookings whose hold ran out are handed over by {@link BookingHoldService}; the periodic
+ * sweep catches any it missed. Either way they're taken {@link #CHUNK_SIZE} at a time, each
+ * chunk in its own short transaction: the rows are locked, flipped to CANCELLED with one
+ * UPDATE, and their tickets are returned with one UPDATE per event (or to the in-memory
+ * counter of a hot event). Movie seats are released with one call per showtime. The in-memory
+ * indexes are updated after the chunk commits, as they are for a single cancellation.
+ */
+@Service
+public class BookingExpiryService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private HotCapacityService hotCapacityService;
+
+    @Autowired
+    private OccupiedSeatIndex occupiedSeatIndex;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private BookingSeatService bookingSeatService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate chunkTransaction;
+    private Counter expiredTotal;
+    private DistributionSummary expiredPerSweep;
+    private Timer sweepTimer;
+
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        expiredTotal = Counter.builder("eventmate.bookings.expired")
+                .description("PENDING bookings cancelled because their hold ran out")
+                .register(meterRegistry);
+        expiredPerSweep = DistributionSummary.builder("eventmate.bookings.expiry.sweep.rows")
+                .description("Bookings cancelled per expiry sweep")
+                .register(meterRegistry);
+        sweepTimer = Timer.builder("eventmate.bookings.expiry.sweep")
+                .description("Duration of an expiry sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cancels every PENDING booking made before {@code cutoff}; returns how many.
+     */
+    public int expirePendingBefore(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        try {
+            int expired;
+            do {
+                Integer chunk = chunkTransaction.execute(status -> expireChunk(cutoff));
+                expired = chunk != null ? chunk : 0;
+                total += expired;
+            } while (expired == CHUNK_SIZE);
+        } finally {
+            sample.stop(sweepTimer);
+            expiredPerSweep.record(total);
+            expiredTotal.increment(total);
+        }
+        return total;
+    }
+
+    /**
+     * Cancels those of the given bookings (at most {@link #CHUNK_SIZE}) that are still PENDING;
+     * returns how many.
+     */
+    public int expireIfPending(List<Long> bookingIds) {
+        if (bookingIds.isEmpty()) return 0;
+        Integer chunk = chunkTransaction.execute(status -> expire(bookingRepository.lockPendingByIds(bookingIds)));
+        int expired = chunk != null ? chunk : 0;
+        expiredTotal.increment(expired);
+        return expired;
+    }
+
+    private int expireChunk(LocalDateTime cutoff) {
+        return expire(bookingRepository.lockExpiredPending(cutoff, CHUNK_SIZE));
+    }
+
+    private int expire(List<ExpiredBooking> chunk) {
+        if (chunk.isEmpty()) return 0;
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        Map<Long, Integer> ticketsByEvent = new HashMap<>();
+        Map<Long, StringBuilder> seatsByShowTime = new HashMap<>();
+        for (ExpiredBooking booking : chunk) {
+            ids.add(booking.getId());
+            occupiedSeatIndex.bookingCancelled(booking.getId(), booking.getEventId(), booking.getShowTimeId());
+
+            if (booking.getShowTimeId() == null) {
+                int tickets = booking.getTicketsCount() != null ? booking.getTicketsCount() : 0;
+                ticketsByEvent.merge(booking.getEventId(), tickets, Integer::sum);
+            } else if (booking.getSeats() != null && !booking.getSeats().isBlank()) {
+                StringBuilder seats = seatsByShowTime.computeIfAbsent(booking.getShowTimeId(), id -> new StringBuilder());
+                if (seats.length() > 0) seats.append(',');
+                seats.append(booking.getSeats());
+            }
+        }
+
+        bookingRepository.cancelAllById(ids, LocalDateTime.now());
+        bookingSeatService.releaseAll(ids);
+
+        // Standard events: one grouped capacity update per event
+        ticketsByEvent.forEach((eventId, tickets) -> {
+            if (tickets > 0 && !hotCapacityService.releaseIfTracked(eventId, tickets)) {
+                eventRepository.releaseSeats(eventId, tickets);
+            }
+        });
+        seatsByShowTime.forEach((showTimeId, seats) ->
+                seatInventoryService.releaseBookedSeats(showTimeId, seats.toString()));
+
+        return chunk.size();
+    }
+}
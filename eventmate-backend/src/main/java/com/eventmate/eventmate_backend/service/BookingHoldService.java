@@ -0,0 +1,143 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Booking;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels each PENDING booking when its hold runs out, to the second.
+ *
+ * Every new booking is put in a {@link DelayQueue} with its deadline (bookingDate plus the hold
+ * time). One worker thread sleeps until the earliest deadline, takes every hold that is due and
+ * hands them to {@link BookingExpiryService}, which cancels those still PENDING. Confirmed or
+ * cancelled bookings are not removed from the queue; they simply aren't PENDING when their
+ * deadline comes. The queue is rebuilt from bookings.booking_date on startup, and the worker
+ * only ever touches holds that are due.
+ */
+@Service
+public class BookingHoldService {
+
+    private static final long RETRY_MILLIS = 5000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingExpiryService bookingExpiryService;
+
+    @Value("${eventmate.booking.hold-seconds:60}")
+    private long holdSeconds;
+
+    private final DelayQueue<Hold> holds = new DelayQueue<>();
+    private volatile Thread worker;
+
+    public Duration getHoldDuration() {
+        return Duration.ofSeconds(holdSeconds);
+    }
+
+    // Called from createBooking; the hold starts once the booking commits
+    public void hold(Booking booking) {
+        Long bookingId = booking.getId();
+        long deadline = deadlineOf(booking.getBookingDate());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    holds.add(new Hold(bookingId, deadline));
+                }
+            });
+        } else {
+            holds.add(new Hold(bookingId, deadline));
+        }
+    }
+
+    /**
+     * Loads the holds of all PENDING bookings and starts the worker; called once on startup.
+     */
+    public synchronized void start() {
+        if (worker != null) return;
+        for (BookingRepository.PendingHold pending : bookingRepository.findPendingHolds()) {
+            holds.add(new Hold(pending.getId(), deadlineOf(pending.getBookingDate())));
+        }
+        System.out.println("⏳ Booking holds: tracking " + holds.size() + " pending bookings");
+
+        worker = new Thread(this::run, "booking-holds");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run() {
+        List<Hold> due = new ArrayList<>(BookingExpiryService.CHUNK_SIZE);
+        while (worker != null) {
+            try {
+                due.add(holds.take());
+                holds.drainTo(due, BookingExpiryService.CHUNK_SIZE - 1);
+
+                List<Long> ids = new ArrayList<>(due.size());
+                for (Hold hold : due) {
+                    ids.add(hold.bookingId);
+                }
+                int expired = bookingExpiryService.expireIfPending(ids);
+                if (expired > 0) {
+                    System.out.println("⏳ Booking holds: cancelled " + expired + " unpaid bookings");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("❌ Booking holds: expiry failed, retrying: " + e.getMessage());
+                long retryAt = System.currentTimeMillis() + RETRY_MILLIS;
+                for (Hold hold : due) {
+                    holds.add(new Hold(hold.bookingId, retryAt));
+                }
+            }
+            due.clear();
+        }
+    }
+
+    private long deadlineOf(LocalDateTime bookingDate) {
+        if (bookingDate == null) return System.currentTimeMillis() + holdSeconds * 1000;
+        return bookingDate.plusSeconds(holdSeconds).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Hold implements Delayed {
+        private final Long bookingId;
+        private final long deadline;
+
+        Hold(Long bookingId, long deadline) {
+            this.bookingId = bookingId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((Hold) other).deadline);
+        }
+    }
+}
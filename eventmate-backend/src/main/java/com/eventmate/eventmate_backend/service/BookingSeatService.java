@@ -0,0 +1,161 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.SeatLabels;
+import com.eventmate.eventmate_backend.model.Booking;
+import com.eventmate.eventmate_backend.model.BookingSeat;
+import com.eventmate.eventmate_backend.repository.BookingSeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps booking_seats (one row per sold seat) in step with Booking.seats.
+ *
+ * BookingService writes both in the same transaction, so a seat that is already sold for the
+ * event or showtime fails the booking on the primary key instead of being sold twice.
+ * Cancelling deletes the rows. Bookings from before the table existed are copied over by
+ * {@link #backfill()}; until it has finished, readers stay on Booking.seats.
+ */
+@Service
+public class BookingSeatService {
+
+    private static final int BACKFILL_CHUNK = 1000;
+    private static final int ROWS_PER_INSERT = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+
+    private volatile boolean backfilled;
+
+    public boolean isBackfilled() {
+        return backfilled;
+    }
+
+    /**
+     * Inserts the booking's seats; throws if any of them is already sold.
+     */
+    public void record(Booking booking) {
+        Long showTimeId = booking.getShowTime() != null ? booking.getShowTime().getId() : null;
+        Set<String> labels = labels(booking.getSeats(), showTimeId != null);
+        if (labels.isEmpty()) return;
+        try {
+            insert(booking.getId(), booking.getEvent().getId(), showTimeId, labels, false);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("One or more selected seats are already booked. Please choose different seats.");
+        }
+    }
+
+    public void release(Long bookingId) {
+        bookingSeatRepository.deleteByBookingId(bookingId);
+    }
+
+    public void releaseAll(List<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            bookingSeatRepository.deleteByBookingIds(bookingIds);
+        }
+    }
+
+    // The event (with all its bookings) is being deleted
+    public void releaseEvent(Long eventId) {
+        bookingSeatRepository.deleteByEventId(eventId);
+    }
+
+    /**
+     * Copies the seats of live bookings that have no booking_seats rows yet, in id order and
+     * chunks. Safe to run again; returns the number of bookings copied. Seats that two legacy
+     * bookings share are kept for the first and reported.
+     */
+    public int backfill() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        int copied = 0;
+        int conflicts = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT b.id, b.event_id, b.showtime_id, b.seats FROM bookings b " +
+                    "WHERE b.id > ? AND b.status <> 'CANCELLED' AND b.seats IS NOT NULL AND b.seats <> '' " +
+                    "AND NOT EXISTS (SELECT 1 FROM booking_seats s WHERE s.booking_id = b.id) " +
+                    "ORDER BY b.id LIMIT ?", afterId, BACKFILL_CHUNK);
+            if (rows.isEmpty()) break;
+
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                Long bookingId = ((Number) row.get("id")).longValue();
+                Long eventId = ((Number) row.get("event_id")).longValue();
+                Number showTime = (Number) row.get("showtime_id");
+                Set<String> labels = labels((String) row.get("seats"), showTime != null);
+                int inserted = insert(bookingId, eventId, showTime != null ? showTime.longValue() : null, labels, true);
+                conflicts += labels.size() - inserted;
+                ids.add(bookingId);
+                afterId = bookingId;
+            }
+            // A booking cancelled while we copied it keeps no rows (locking read waits for its commit)
+            jdbcTemplate.update("DELETE s FROM booking_seats s JOIN bookings b ON b.id = s.booking_id " +
+                    "WHERE b.id IN (" + placeholders(ids.size()) + ") AND b.status = 'CANCELLED'", ids.toArray());
+            copied += rows.size();
+        }
+        backfilled = true;
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("🪑 booking_seats backfill: " + copied + " bookings copied in " + elapsedMillis + " ms"
+                + (conflicts > 0 ? " (⚠️ " + conflicts + " seats were sold twice before; kept the first)" : ""));
+        return copied;
+    }
+
+    // Multi-row INSERTs; with ignoreDuplicates, returns how many rows went in
+    private int insert(Long bookingId, Long eventId, Long showTimeId, Collection<String> labels, boolean ignoreDuplicates) {
+        long showTime = showTimeId != null ? showTimeId : BookingSeat.NO_SHOWTIME;
+        List<String> all = new ArrayList<>(labels);
+        int inserted = 0;
+        for (int from = 0; from < all.size(); from += ROWS_PER_INSERT) {
+            List<String> chunk = all.subList(from, Math.min(all.size(), from + ROWS_PER_INSERT));
+            StringBuilder sql = new StringBuilder(ignoreDuplicates ? "INSERT IGNORE" : "INSERT")
+                    .append(" INTO booking_seats (event_id, showtime_id, seat_label, booking_id) VALUES ");
+            Object[] args = new Object[chunk.size() * 4];
+            int i = 0;
+            for (String label : chunk) {
+                if (i > 0) sql.append(", ");
+                sql.append("(?, ?, ?, ?)");
+                args[i++] = eventId;
+                args[i++] = showTime;
+                args[i++] = label;
+                args[i++] = bookingId;
+            }
+            inserted += jdbcTemplate.update(sql.toString(), args);
+        }
+        return inserted;
+    }
+
+    // Trimmed, de-duplicated labels in booking order. Showtime seats are keyed by their canonical
+    // label, so "A5", "A-5" and "1-5" are one seat; GEN-n tickets are kept as they are.
+    private static Set<String> labels(String seats, boolean showTime) {
+        Set<String> labels = new LinkedHashSet<>();
+        if (seats == null) return labels;
+        for (String seat : seats.split(",")) {
+            String label = seat.trim();
+            if (label.isEmpty()) continue;
+            labels.add(showTime ? SeatLabels.canonical(label) : label);
+        }
+        return labels;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append('?');
+        }
+        return sql.toString();
+    }
+}
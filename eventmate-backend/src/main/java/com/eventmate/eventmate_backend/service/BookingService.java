@@ -11,8 +11,11 @@ import com.eventmate.eventmate_backend.repository.ShowTimeRepository;
 import com.eventmate.eventmate_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -34,11 +37,63 @@ public class BookingService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OccupiedSeatIndex occupiedSeatIndex;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatPricingService seatPricingService;
+
+    @Autowired
+    private HotCapacityService hotCapacityService;
+
+    @Autowired
+    private TicketSequenceService ticketSequenceService;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private BookingSeatService bookingSeatService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // Maximum tickets allowed per booking to prevent hoarding
-    private static final int MAX_TICKETS_PER_BOOKING = 10;
+    public static final int MAX_TICKETS_PER_BOOKING = 10;
 
-    @Transactional
+    private TransactionTemplate bookingTransaction;
+
+    @PostConstruct
+    public void initTransaction() {
+        bookingTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Not transactional itself: general-admission ticket numbers are reserved first, so a block
+     * refill (its own short transaction) never needs a second connection while a booking holds
+     * one and the event's row lock. A booking that then fails leaves a gap in the numbers.
+     */
     public Booking createBooking(BookingRequest request, String userEmail) {
+        String ticketIds = null;
+        if (request.getSeats() == null || request.getSeats().trim().isEmpty()) {
+            Event event = eventRepository.findById(request.getEventId())
+                    .orElseThrow(() -> new RuntimeException("Event not found"));
+            int count = ticketCount(request, event);
+            if (count <= MAX_TICKETS_PER_BOOKING) {
+                ticketIds = ticketSequenceService.nextTicketIds(event.getId(), count);
+            }
+        }
+        String reservedTicketIds = ticketIds;
+        return bookingTransaction.execute(status -> createPendingBooking(request, userEmail, reservedTicketIds));
+    }
+
+    private Booking createPendingBooking(BookingRequest request, String userEmail, String reservedTicketIds) {
         // 1. Find User
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -66,29 +121,23 @@ public class BookingService {
         }
 
         // 4. Determine Ticket Count
-        int finalCount = request.getTicketsCount();
-        
-        // Logic: Calculate count if not explicitly provided (e.g. via seat selection)
-        if (finalCount == 0 && request.getSeats() != null && !request.getSeats().isEmpty()) {
-            finalCount = request.getSeats().split(",").length;
-        }
-        // Logic: Derive from Price
-        if (finalCount == 0 && request.getTotalPrice() != null && request.getTotalPrice() > 0 && event.getPrice() > 0) {
-            finalCount = (int) (request.getTotalPrice() / event.getPrice());
-        }
-        // Fallback
-        if (finalCount == 0) finalCount = 1;
+        int finalCount = ticketCount(request, event);
 
         // 5. Security Check: Bulk Booking Limit
         if (finalCount > MAX_TICKETS_PER_BOOKING) {
             throw new RuntimeException("Cannot book more than " + MAX_TICKETS_PER_BOOKING + " tickets at once.");
         }
 
-        // 6. Check Availability
-        // ✅ FIX: Only check generic Event capacity if it is NOT a movie (showTime is null)
+        // 6. Reserve Capacity (single conditional UPDATE, so concurrent bookings can't oversell)
+        // ✅ FIX: Only for Standard Events (showTime is null).
         // Movies have 0 capacity at event level, so this check would fail otherwise.
-        if (showTime == null) {
-            if (event.getAvailableSeats() < finalCount) {
+        if (showTime == null && hotCapacityService.handles(event)) {
+            // Hot on-sale: granted from in-memory shards, the row is updated by the flusher
+            if (!hotCapacityService.tryReserve(event, finalCount)) {
+                throw new RuntimeException("Sold Out! Not enough seats available.");
+            }
+        } else if (showTime == null) {
+            if (eventRepository.reserveSeats(event.getId(), finalCount) == 0) {
                 throw new RuntimeException("Sold Out! Not enough seats available.");
             }
         }
@@ -96,17 +145,8 @@ public class BookingService {
         // 7. Generate Seat IDs (if general admission)
         String finalSeats = request.getSeats();
         if (finalSeats == null || finalSeats.trim().isEmpty()) {
-            // Logic for Standard General Admission Events
-            int totalCapacity = event.getTotalCapacity() != null ? event.getTotalCapacity() : (event.getAvailableSeats() + 1000); 
-            int currentAvailable = event.getAvailableSeats();
-            int startId = (totalCapacity - currentAvailable) + 1;
-
-            StringBuilder generatedIds = new StringBuilder();
-            for (int i = 0; i < finalCount; i++) {
-                if (i > 0) generatedIds.append(",");
-                generatedIds.append("GEN-").append(startId + i);
-            }
-            finalSeats = generatedIds.toString();
+            // ✅ Ticket numbers come from the event's own sequence (reserved before this transaction)
+            finalSeats = reservedTicketIds;
         }
 
         // 8. Create and Save Booking
@@ -118,38 +158,51 @@ public class BookingService {
         booking.setSeats(finalSeats); 
         booking.setStatus("PENDING"); 
 
-        if (request.getTotalPrice() != null && request.getTotalPrice() > 0) {
-            booking.setTotalPrice(request.getTotalPrice());
-        } else {
-            booking.setTotalPrice(event.getPrice() * finalCount);
-        }
-
-        // 9. Update Event Capacity
-        // ✅ FIX: Only update Event capacity for Standard Events. Movies handle capacity via Seats/Showtimes.
-        if (showTime == null) {
-            event.setAvailableSeats(event.getAvailableSeats() - finalCount);
-            eventRepository.save(event);
-        }
+        // ✅ Priced on the server from the seat classes (the client's total is not trusted)
+        booking.setTotalPrice(seatPricingService.totalPrice(event, showTime, request.getSeats(), finalCount));
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingSeatService.record(savedBooking); // ✅ Unique per seat: a double sale fails here and rolls back
+        occupiedSeatIndex.bookingCreated(savedBooking);
+        bookingHoldService.hold(savedBooking); // ✅ Cancelled exactly when the hold runs out unless paid
+
+        // ✅ Movies: flip the chosen seats to BOOKED in the seat map
+        if (showTime != null && request.getSeats() != null && !request.getSeats().isBlank()) {
+            seatInventoryService.bookSeats(showTime.getId(), finalSeats, user.getId());
+        }
 
-        // 10. Send Email (Async/Safe)
-        try {
-            emailService.sendBookingConfirmation(
-                user.getEmail(),
+        // 9. Queue Email (outbox row in this transaction; sent in the background after commit)
+        outboxService.enqueueEmail(
+            user.getEmail(),
+            "Booking Confirmed: " + event.getTitle(),
+            emailService.bookingConfirmationBody(
                 user.getName(),
                 event.getTitle(),
                 savedBooking.getId().toString(),
                 finalCount,
                 savedBooking.getTotalPrice()
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send email: " + e.getMessage());
-        }
+            )
+        );
 
         return savedBooking;
     }
 
+    private int ticketCount(BookingRequest request, Event event) {
+        int finalCount = request.getTicketsCount();
+
+        // Logic: Calculate count if not explicitly provided (e.g. via seat selection)
+        if (finalCount == 0 && request.getSeats() != null && !request.getSeats().isEmpty()) {
+            finalCount = request.getSeats().split(",").length;
+        }
+        // Logic: Derive from Price
+        if (finalCount == 0 && request.getTotalPrice() != null && request.getTotalPrice() > 0 && event.getPrice() > 0) {
+            finalCount = (int) (request.getTotalPrice() / event.getPrice());
+        }
+        // Fallback
+        if (finalCount == 0) finalCount = 1;
+        return finalCount;
+    }
+
     public List<Booking> getUserBookings(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -173,22 +226,25 @@ public class BookingService {
             throw new RuntimeException("Unauthorized: You do not own this booking.");
         }
 
-        // 2. Logic: Check if already cancelled
-        if ("CANCELLED".equals(booking.getStatus())) {
+        // 2. Logic: Update Status & Time, unless it is already cancelled. One conditional UPDATE,
+        // so when hold expiry or the bulk sweep cancels it concurrently only one side releases.
+        if (bookingRepository.cancelIfNotCancelled(bookingId, LocalDateTime.now()) == 0) {
             throw new RuntimeException("Booking is already cancelled.");
         }
 
-        // 3. Logic: Update Status & Time
-        booking.setStatus("CANCELLED");
-        booking.setCancellationTime(LocalDateTime.now());
-        bookingRepository.save(booking);
+        // 3. Logic: Release the booking's seats
+        bookingSeatService.release(booking.getId());
+        occupiedSeatIndex.bookingCancelled(booking);
+        if (booking.getShowTime() != null) {
+            seatInventoryService.releaseBookedSeats(booking.getShowTime().getId(), booking.getSeats());
+        }
 
-        // 4. Logic: Restore Seats
+        // 4. Logic: Restore Seats (atomic increment)
         // ✅ FIX: Only restore Event capacity for Standard Events
-        if (booking.getShowTime() == null) {
-            Event event = booking.getEvent();
-            event.setAvailableSeats(event.getAvailableSeats() + booking.getTicketsCount());
-            eventRepository.save(event);
+        if (booking.getShowTime() == null && hotCapacityService.handles(booking.getEvent())) {
+            hotCapacityService.release(booking.getEvent(), booking.getTicketsCount());
+        } else if (booking.getShowTime() == null) {
+            eventRepository.releaseSeats(booking.getEvent().getId(), booking.getTicketsCount());
         }
     }
 
@@ -201,15 +257,20 @@ public class BookingService {
         cancelBooking(bookingId, null);
     }
 
+    /**
+     * PENDING -> CONFIRMED in one conditional UPDATE, so a booking whose hold is expiring at the
+     * same moment is either confirmed or cancelled, never cancelled and then confirmed.
+     * Confirming an already confirmed booking returns it unchanged.
+     */
+    @Transactional
     public Booking confirmBooking(Long bookingId) {
+        int confirmed = bookingRepository.confirmIfPending(bookingId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (!"PENDING".equals(booking.getStatus())) {
-            return booking;
+        if (confirmed == 0 && !"CONFIRMED".equals(booking.getStatus())) {
+            throw new RuntimeException("Booking can no longer be confirmed: it was cancelled or its hold expired.");
         }
-
-        booking.setStatus("CONFIRMED");
-        return bookingRepository.save(booking);
+        return booking;
     }
 }
\ No newline at end of file
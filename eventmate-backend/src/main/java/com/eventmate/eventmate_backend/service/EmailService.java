@@ -11,18 +11,24 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
-    public void sendBookingConfirmation(String toEmail, String userName, String eventTitle, String bookingId, int tickets, double amount) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject("Booking Confirmed: " + eventTitle);
-        message.setText("Hello " + userName + ",\n\n" +
+    // ✅ Only builds the text; BookingService queues it in the outbox with the booking
+    public String bookingConfirmationBody(String userName, String eventTitle, String bookingId, int tickets, double amount) {
+        return "Hello " + userName + ",\n\n" +
                 "Your booking for '" + eventTitle + "' is confirmed!\n\n" +
                 "Booking ID: " + bookingId + "\n" +
                 "Tickets: " + tickets + "\n" +
                 "Total Amount: ₹" + amount + "\n\n" +
                 "Please show your QR Code at the venue entry.\n" +
                 "View your ticket here: http://localhost:5173/dashboard\n\n" +
-                "Thank you,\nTeam EventMate");
+                "Thank you,\nTeam EventMate";
+    }
+
+    // Sends right away (throws on SMTP failure); used by the outbox dispatcher
+    public void send(String toEmail, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(toEmail);
+        message.setSubject(subject);
+        message.setText(body);
 
         mailSender.send(message);
         System.out.println("✅ Email sent to " + toEmail);
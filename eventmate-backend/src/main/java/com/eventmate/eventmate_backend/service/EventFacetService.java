@@ -0,0 +1,127 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.dto.EventSummary;
+import com.eventmate.eventmate_backend.dto.FacetPage;
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import com.eventmate.eventmate_backend.search.FacetIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtered event listing with facet counts, served from a {@link FacetIndex}: one bitmap per
+ * category, event type, month, price band and seating mode. Results come in date order
+ * (undated events last), like the catalog.
+ */
+@Service
+public class EventFacetService implements EventIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String TYPE = "type";
+    public static final String DATE = "date";
+    public static final String PRICE = "price";
+    public static final String SEATING = "seating";
+
+    public static final int MAX_PAGE_SIZE = 100;
+    // Deeper than this, browse with the catalog cursor instead
+    private static final int MAX_OFFSET = 1000;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final FacetIndex index = new FacetIndex(CATEGORY, TYPE, DATE, PRICE, SEATING);
+    private volatile boolean ready;
+
+    // False until the startup rebuild has run
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Events matching every filter (facet -> accepted values), one page of them, the total and
+     * the per-value counts of every facet.
+     */
+    public FacetPage facets(Map<String, ? extends Collection<String>> filters, int page, int size) {
+        if (!ready) {
+            throw new IllegalStateException("Event filters are still loading. Please try again shortly.");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long offset = (long) Math.max(0, page) * limit;
+        if (offset > MAX_OFFSET) {
+            throw new RuntimeException("Page too deep; use /api/events/catalog to browse further.");
+        }
+
+        FacetIndex.Result result = index.query(filters, (int) offset, limit);
+        return new FacetPage(load(result.docIds()), result.total(), result.counts());
+    }
+
+    private List<EventSummary> load(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, EventSummary> byId = new HashMap<>();
+        for (EventSummary summary : eventRepository.findSummariesByIdIn(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<EventSummary> events = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EventSummary summary = byId.get(id);
+            if (summary != null) events.add(summary);
+        }
+        return events;
+    }
+
+    @Override
+    public void rebuild(List<Event> events) {
+        index.clear();
+        for (Event event : events) {
+            upsert(event);
+        }
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Event event) {
+        long sortKey = event.getDate() != null ? event.getDate().toEpochDay() : Long.MAX_VALUE;
+        index.put(event.getId(), sortKey, new String[] {
+                category(event), type(event), dateBucket(event), priceBand(event), seating(event)
+        });
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        index.remove(eventId);
+    }
+
+    private static String category(Event event) {
+        String category = event.getCategory();
+        return category == null || category.isBlank() ? null : category.trim();
+    }
+
+    private static String type(Event event) {
+        return event.getEventType() != null ? event.getEventType().name() : Event.EventType.NORMAL.name();
+    }
+
+    // Calendar month ("2025-03") rather than "this week", so a bucket never goes stale
+    private static String dateBucket(Event event) {
+        return event.getDate() != null ? YearMonth.from(event.getDate()).toString() : "undated";
+    }
+
+    private static String priceBand(Event event) {
+        double price = event.getPrice() != null ? event.getPrice() : 0;
+        if (price <= 0) return "free";
+        if (price < 500) return "under-500";
+        if (price < 1000) return "500-999";
+        if (price < 2500) return "1000-2499";
+        return "2500-plus";
+    }
+
+    private static String seating(Event event) {
+        return event.isSeated() ? "seated" : "general-admission";
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Event;
+
+import java.util.List;
+
+/**
+ * An in-memory structure derived from the events table (search, suggestions, facets).
+ * {@link EventIndexUpdater} feeds every implementation: a full rebuild on startup, then one
+ * call per committed create, update or delete. Implementations copy what they need from the
+ * Event and never keep the entity itself.
+ */
+public interface EventIndex {
+
+    void rebuild(List<Event> events);
+
+    void upsert(Event event);
+
+    void remove(Long eventId);
+}
@@ -0,0 +1,56 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Keeps every {@link EventIndex} in step with the events table. Event writes call
+ * {@link #eventSaved} / {@link #eventDeleted}; the indexes see the change once it commits.
+ */
+@Service
+public class EventIndexUpdater {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private List<EventIndex> indexes;
+
+    // Startup: load every event once and hand the same list to each index
+    public void rebuildAll() {
+        long start = System.nanoTime();
+        List<Event> events = eventRepository.findAll();
+        for (EventIndex index : indexes) {
+            index.rebuild(events);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("🔎 Indexed " + events.size() + " events for " + indexes.size() + " indexes in " + elapsedMillis + " ms");
+    }
+
+    public void eventSaved(Event event) {
+        afterCommit(() -> indexes.forEach(index -> index.upsert(event)));
+    }
+
+    public void eventDeleted(Long eventId) {
+        afterCommit(() -> indexes.forEach(index -> index.remove(eventId)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import com.eventmate.eventmate_backend.search.InvertedIndex;
+import com.eventmate.eventmate_backend.search.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text event search served from an {@link InvertedIndex} over title, description,
+ * location and category, ranked with BM25. Until the index has been built (startup) searches
+ * fall back to the LIKE query. The index matches whole words (and the word being typed as a
+ * prefix), not arbitrary substrings.
+ *
+ * Fuzzy mode uses a {@link TrigramIndex} over title and location instead, so misspelt artist
+ * and venue names ("arjit", "banglore") still match.
+ */
+@Service
+public class EventSearchService implements EventIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    // Title, description, location, category
+    private static final int[] FIELD_WEIGHTS = {3, 1, 2, 2};
+
+    // Title, location
+    private static final int[] FUZZY_FIELD_WEIGHTS = {2, 1};
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final TrigramIndex fuzzyIndex = new TrigramIndex();
+    private volatile boolean ready;
+
+    public List<Event> search(String query) {
+        if (!ready) {
+            return eventRepository.searchEvents(query);
+        }
+        List<InvertedIndex.Hit> hits = index.search(query, MAX_RESULTS);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            ids.add(hit.docId());
+        }
+        return load(ids);
+    }
+
+    public List<Event> searchFuzzy(String query) {
+        if (!ready) {
+            return eventRepository.searchEvents(query);
+        }
+        List<TrigramIndex.Hit> hits = fuzzyIndex.search(query, MAX_RESULTS);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (TrigramIndex.Hit hit : hits) {
+            ids.add(hit.docId());
+        }
+        return load(ids);
+    }
+
+    private List<Event> load(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Event> byId = new HashMap<>();
+        for (Event event : eventRepository.findAllById(ids)) {
+            byId.put(event.getId(), event);
+        }
+        // Keep the ranking order
+        List<Event> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Event event = byId.get(id);
+            if (event != null) results.add(event);
+        }
+        return results;
+    }
+
+    @Override
+    public void rebuild(List<Event> events) {
+        index.clear();
+        fuzzyIndex.clear();
+        for (Event event : events) {
+            upsert(event);
+        }
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Event event) {
+        index.put(event.getId(), new String[] {
+                event.getTitle(), event.getDescription(), event.getLocation(), event.getCategory()
+        }, FIELD_WEIGHTS);
+        fuzzyIndex.put(event.getId(), new String[] {event.getTitle(), event.getLocation()}, FUZZY_FIELD_WEIGHTS);
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        index.remove(eventId);
+        fuzzyIndex.remove(eventId);
+    }
+}
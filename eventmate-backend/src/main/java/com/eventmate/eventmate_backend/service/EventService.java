@@ -1,7 +1,10 @@
 package com.eventmate.eventmate_backend.service;
 
+import com.eventmate.eventmate_backend.dto.CatalogPage;
 import com.eventmate.eventmate_backend.dto.EventRequest;
 import com.eventmate.eventmate_backend.model.Event;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface EventService {
@@ -17,4 +20,7 @@ public interface EventService {
 
     // NEW: Recommendation Method Signature
     List<Event> getRecommendedEvents(Long currentEventId);
+
+    // ✅ NEW: Keyset-paginated catalog (cursor from the previous page, null for the first)
+    CatalogPage getCatalog(String category, String eventType, LocalDate from, LocalDate to, String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.dto.SearchSuggestion;
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import com.eventmate.eventmate_backend.search.SuggestTrie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search-box typeahead over event titles, locations and categories, served from a
+ * {@link SuggestTrie}. A title weighs as much as its event's popularity (tickets sold, plus
+ * one so unsold events still show up); a location or category weighs the sum over its events.
+ * Popularity is read whenever the event itself is written or the index is rebuilt, and
+ * {@link #refreshPopularity()} picks up what bookings, cancellations and the hot-capacity
+ * flusher changed in between.
+ */
+@Service
+public class EventSuggestService implements EventIndex {
+
+    public static final int MAX_SUGGESTIONS = SuggestTrie.TOP_K;
+
+    private static final String TITLE = "TITLE";
+    private static final String LOCATION = "LOCATION";
+    private static final String CATEGORY = "CATEGORY";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final SuggestTrie trie = new SuggestTrie();
+
+    // What each event added, so an update or delete can take exactly that back out
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public List<SearchSuggestion> suggest(String prefix, int limit) {
+        List<SuggestTrie.Completion> completions = trie.complete(prefix, Math.min(limit, MAX_SUGGESTIONS));
+        List<SearchSuggestion> suggestions = new ArrayList<>(completions.size());
+        for (SuggestTrie.Completion completion : completions) {
+            suggestions.add(new SearchSuggestion(completion.text(), completion.kind(), completion.eventId()));
+        }
+        return suggestions;
+    }
+
+    @Override
+    public synchronized void rebuild(List<Event> events) {
+        trie.clear();
+        entries.clear();
+        for (Event event : events) {
+            upsert(event);
+        }
+    }
+
+    @Override
+    public synchronized void upsert(Event event) {
+        remove(event.getId());
+        Entry entry = new Entry(event.getTitle(), event.getLocation(), event.getCategory(), popularity(event));
+        entries.put(event.getId(), entry);
+        apply(event.getId(), entry, true);
+    }
+
+    @Override
+    public synchronized void remove(Long eventId) {
+        Entry entry = entries.remove(eventId);
+        if (entry != null) {
+            apply(eventId, entry, false);
+        }
+    }
+
+    /**
+     * Re-weights every event whose tickets sold changed since it was indexed; returns how many.
+     * Reads only the capacity columns, not whole events.
+     */
+    public int refreshPopularity() {
+        List<EventRepository.SeatCounts> counts = eventRepository.findSeatCounts();
+        int changed = 0;
+        synchronized (this) {
+            for (EventRepository.SeatCounts count : counts) {
+                Entry entry = entries.get(count.getId());
+                if (entry == null) continue;
+                long weight = popularity(count.getTotalCapacity(), count.getAvailableSeats());
+                if (weight == entry.weight()) continue;
+
+                apply(count.getId(), entry, false);
+                Entry updated = new Entry(entry.title(), entry.location(), entry.category(), weight);
+                entries.put(count.getId(), updated);
+                apply(count.getId(), updated, true);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private void apply(Long eventId, Entry entry, boolean add) {
+        if (entry.title() != null) {
+            if (add) trie.add(entry.title(), TITLE, entry.weight(), eventId);
+            else trie.remove(entry.title(), TITLE, entry.weight(), eventId);
+        }
+        if (entry.location() != null) {
+            if (add) trie.add(entry.location(), LOCATION, entry.weight(), null);
+            else trie.remove(entry.location(), LOCATION, entry.weight(), null);
+        }
+        if (entry.category() != null) {
+            if (add) trie.add(entry.category(), CATEGORY, entry.weight(), null);
+            else trie.remove(entry.category(), CATEGORY, entry.weight(), null);
+        }
+    }
+
+    private static long popularity(Event event) {
+        return popularity(event.getTotalCapacity(), event.getAvailableSeats());
+    }
+
+    private static long popularity(Integer capacity, Integer available) {
+        if (capacity == null || available == null) return 1;
+        return 1 + Math.max(0, capacity - available);
+    }
+
+    private record Entry(String title, String location, String category, long weight) {
+    }
+}
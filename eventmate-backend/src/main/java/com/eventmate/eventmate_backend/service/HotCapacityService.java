@@ -0,0 +1,222 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.ShardedCounter;
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory capacity for "hot" general-admission events (Event.hotSale).
+ *
+ * Tickets are granted from a {@link ShardedCounter} instead of a conditional UPDATE on the event
+ * row, so an on-sale doesn't queue behind one row lock. The booking ledger stays the source of
+ * truth: a counter starts at totalCapacity minus the tickets of non-cancelled bookings (also
+ * after a restart), grants that roll back are returned, and {@link #reconcile()} corrects any
+ * drift from it. {@link #flush()} copies the counters to events.available_seats for readers.
+ */
+@Service
+public class HotCapacityService {
+
+    private static final int SHARDS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    // How long a counter leaving hot mode waits for its in-flight grants before it's written back
+    private static final long SETTLE_TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final ConcurrentHashMap<Long, HotEvent> events = new ConcurrentHashMap<>();
+
+    // Hot mode needs a fixed capacity to count down from
+    public boolean handles(Event event) {
+        return event.isHotSale() && event.getTotalCapacity() != null;
+    }
+
+    /**
+     * Takes {@code count} tickets if available. Inside a transaction the tickets are returned if
+     * it rolls back; after a commit the new booking row accounts for them.
+     */
+    public boolean tryReserve(Event event, int count) {
+        HotEvent hot = hotEvent(event);
+        hot.pending.incrementAndGet();
+        hot.changes.incrementAndGet();
+        if (!hot.counter.tryAcquire(count)) {
+            hot.pending.decrementAndGet();
+            return false;
+        }
+        onCompletion(hot, committed -> {
+            if (!committed) hot.counter.add(count);
+        });
+        return true;
+    }
+
+    // Returns tickets of a cancelled booking once the cancellation commits
+    public void release(Event event, int count) {
+        releaseIfTracked(event.getId(), count); // if untracked, rebuilt from the ledger on next use
+    }
+
+    /**
+     * Like {@link #release} for callers that only have the event id. Returns false if the event
+     * has no counter in memory, in which case events.available_seats is the one to update.
+     */
+    public boolean releaseIfTracked(Long eventId, int count) {
+        HotEvent hot = events.get(eventId);
+        if (hot == null) return false;
+        hot.pending.incrementAndGet();
+        hot.changes.incrementAndGet();
+        onCompletion(hot, committed -> {
+            if (committed) hot.counter.add(count);
+        });
+        return true;
+    }
+
+    public long remaining(Long eventId) {
+        HotEvent hot = events.get(eventId);
+        return hot != null ? hot.counter.sum() : -1;
+    }
+
+    /**
+     * Writes each counter to events.available_seats (one UPDATE per hot event, not per booking).
+     */
+    public int flush() {
+        int flushed = 0;
+        for (var entry : events.entrySet()) {
+            if (write(entry.getKey(), entry.getValue(), false)) flushed++;
+        }
+        return flushed;
+    }
+
+    /**
+     * Recomputes each counter from the ledger and fixes any difference. An event is skipped
+     * (and retried next round) while grants or cancellations are in flight. Returns the number
+     * of counters that had drifted.
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (var entry : events.entrySet()) {
+            HotEvent hot = entry.getValue();
+            long before = hot.changes.get();
+            if (hot.pending.get() != 0) continue;
+
+            long expected = hot.capacity - soldTickets(entry.getKey());
+            long actual = hot.counter.sum();
+            if (hot.pending.get() != 0 || hot.changes.get() != before) continue;
+
+            if (expected != actual) {
+                hot.counter.add(expected - actual);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Applies an edit of the event (which rewrites events.available_seats). A counter that stays
+     * hot keeps counting, resized in place if the capacity changed, so grants and cancellations
+     * still in flight stay accounted for. One that leaves hot mode is dropped once they've
+     * finished, and what it had left is written back for the row-based path to count down from.
+     */
+    public void eventUpdated(Event event) {
+        HotEvent hot = events.get(event.getId());
+        if (hot == null) return; // built from the ledger, with the new capacity, on next use
+
+        if (handles(event)) {
+            hot.pending.incrementAndGet();
+            hot.changes.incrementAndGet();
+            synchronized (hot) {
+                hot.counter.add(event.getTotalCapacity() - hot.capacity);
+                hot.capacity = event.getTotalCapacity();
+            }
+            hot.pending.decrementAndGet();
+        } else {
+            events.remove(event.getId(), hot);
+            awaitSettled(hot);
+        }
+        write(event.getId(), hot, true);
+    }
+
+    // Drops the counter of a deleted event
+    public void evict(Long eventId) {
+        events.remove(eventId);
+    }
+
+    private HotEvent hotEvent(Event event) {
+        HotEvent hot = events.get(event.getId());
+        if (hot != null) return hot;
+        return events.computeIfAbsent(event.getId(), id -> {
+            long capacity = event.getTotalCapacity();
+            return new HotEvent(capacity, capacity - soldTickets(id));
+        });
+    }
+
+    // Copies the counter to events.available_seats if it changed since the last write (or if forced)
+    private boolean write(Long eventId, HotEvent hot, boolean force) {
+        synchronized (hot) {
+            long remaining = hot.counter.sum();
+            if (!force && remaining == hot.lastFlushed) return false;
+            eventRepository.setAvailableSeats(eventId, (int) remaining);
+            hot.lastFlushed = remaining;
+            return true;
+        }
+    }
+
+    // Waits a bounded time for grants and cancellations in flight on a dropped counter to finish
+    private static void awaitSettled(HotEvent hot) {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MILLIS;
+        while (hot.pending.get() != 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long soldTickets(Long eventId) {
+        Long sold = bookingRepository.sumTicketsByEventIdAndStatusNot(eventId, "CANCELLED");
+        return sold != null ? sold : 0;
+    }
+
+    private static void onCompletion(HotEvent hot, Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            hot.pending.decrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+                hot.pending.decrementAndGet();
+            }
+        });
+    }
+
+    private static class HotEvent {
+        private volatile long capacity;
+        private final ShardedCounter counter;
+
+        // Grants/cancellations whose transaction hasn't finished, and a change count, so
+        // reconcile() only compares against the ledger when nothing is in flight
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong changes = new AtomicLong();
+        private long lastFlushed = -1; // guarded by this
+
+        HotEvent(long capacity, long remaining) {
+            this.capacity = capacity;
+            this.counter = new ShardedCounter(SHARDS, remaining);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.eventmate.eventmate_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the first response for a repeated Idempotency-Key.
+ *
+ * Keys are scoped by endpoint and caller, and each entry remembers the request it was used
+ * with, so a key reused for a different request is refused instead of replayed. A duplicate
+ * that arrives while the first call is still running waits for its result rather than running
+ * again. Entries live in memory for the configured TTL, and the oldest finished ones are dropped
+ * once the store is full. 5xx results, thrown exceptions and 429s are not kept, so those can be retried
+ * with the same key.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_WAIT_SECONDS = 30;
+
+    @Value("${eventmate.idempotency.max-keys:10000}")
+    private int maxKeys;
+
+    @Value("${eventmate.idempotency.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // Insertion order is also expiry order, so expired entries are always at the head
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Runs {@code action} once per (scope, caller, key) and returns its response; repeats get the
+     * same response back with an Idempotent-Replayed header. Without a key the action just runs.
+     */
+    public ResponseEntity<?> execute(String scope, String caller, String key, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String storeKey = scope + "|" + caller + "|" + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            purgeExpired();
+            entry = entries.get(storeKey);
+            if (entry == null) {
+                entry = new Entry(request, System.nanoTime());
+                entries.put(storeKey, entry);
+                evictOldest();
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            return replay(entry, request);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            forget(storeKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        int status = response.getStatusCode().value();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            forget(storeKey, entry);
+        }
+        entry.result.complete(response);
+        return response;
+    }
+
+    /**
+     * Key to hand on to an upstream API (Stripe) for the same logical request: scoped to the
+     * caller like ours, hashed so one user's key can't match another's. Null without a key.
+     */
+    public String upstreamKey(String scope, String caller, String key) {
+        if (key == null || key.isBlank()) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((scope + "|" + caller + "|" + key).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private ResponseEntity<?> replay(Entry entry, Object request) {
+        if (!Objects.equals(entry.request, request)) {
+            return ResponseEntity.unprocessableEntity()
+                    .body("Idempotency-Key was already used with a different request.");
+        }
+        try {
+            ResponseEntity<?> original = entry.result.get(IN_FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS);
+            return ResponseEntity.status(original.getStatusCode())
+                    .headers(original.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(original.getBody());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A request with this Idempotency-Key is still in progress.");
+        } catch (ExecutionException e) {
+            // The first attempt blew up and wasn't kept; this one may be retried
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("The original request failed. Please retry.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private void forget(String storeKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(storeKey, entry);
+        }
+    }
+
+    // Caller holds the lock. Entries still in flight are skipped, or a duplicate arriving now
+    // would run the action a second time; the store may briefly hold more than maxKeys.
+    private void evictOldest() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxKeys && it.hasNext()) {
+            if (it.next().result.isDone()) it.remove();
+        }
+    }
+
+    // Caller holds the lock
+    private void purgeExpired() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(ttlMinutes);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (entry.createdAt - cutoff >= 0) break;
+            it.remove();
+        }
+    }
+
+    private static class Entry {
+        private final Object request;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        Entry(Object request, long createdAt) {
+            this.request = request;
+            this.createdAt = createdAt;
+        }
+    }
+}
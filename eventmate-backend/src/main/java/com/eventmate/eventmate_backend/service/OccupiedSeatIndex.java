@@ -0,0 +1,217 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.SeatLabels;
+import com.eventmate.eventmate_backend.model.Booking;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.BookingSeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Occupied seats per event and per showtime, kept in memory for the seat-selection pages.
+ *
+ * Each entry is built once from the DB (booking_seats, or the id + seats columns of bookings
+ * until booking_seats has been backfilled) and then updated incrementally
+ * when a booking is created or cancelled. Seats are tracked per booking id, so replaying a
+ * change that the initial load already saw is harmless.
+ *
+ * Every load and change takes a new stamp, which the endpoints hand out as an ETag.
+ */
+@Service
+public class OccupiedSeatIndex {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+
+    @Autowired
+    private BookingSeatService bookingSeatService;
+
+    private final ConcurrentHashMap<Long, Occupancy> byEvent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Occupancy> byShowTime = new ConcurrentHashMap<>();
+
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    public List<String> getOccupiedByEvent(Long eventId) {
+        return forEvent(eventId).snapshot();
+    }
+
+    public List<String> getOccupiedByShowTime(Long showTimeId) {
+        return forShowTime(showTimeId).snapshot();
+    }
+
+    // Read the tag before the seats: a change in between then only makes the tag look older
+    public String eventVersionTag(Long eventId) {
+        return BOOT_ID + "-" + forEvent(eventId).stamp();
+    }
+
+    public String showTimeVersionTag(Long showTimeId) {
+        return BOOT_ID + "-" + forShowTime(showTimeId).stamp();
+    }
+
+    // Applied once the surrounding transaction commits
+    public void bookingCreated(Booking booking) {
+        Long bookingId = booking.getId();
+        Long eventId = booking.getEvent().getId();
+        Long showTimeId = booking.getShowTime() != null ? booking.getShowTime().getId() : null;
+        String[] seats = split(booking.getSeats());
+        String[] pickerSeats = showTimeId != null ? pickerIds(seats) : null;
+
+        afterCommit(() -> {
+            byEvent.computeIfPresent(eventId, (id, occupancy) -> occupancy.put(bookingId, seats));
+            if (showTimeId != null) {
+                byShowTime.computeIfPresent(showTimeId, (id, occupancy) -> occupancy.put(bookingId, pickerSeats));
+            }
+        });
+    }
+
+    // Applied once the surrounding transaction commits
+    public void bookingCancelled(Booking booking) {
+        bookingCancelled(booking.getId(), booking.getEvent().getId(),
+                booking.getShowTime() != null ? booking.getShowTime().getId() : null);
+    }
+
+    // Same, for bulk cancellations that never load the entity
+    public void bookingCancelled(Long bookingId, Long eventId, Long showTimeId) {
+        afterCommit(() -> {
+            byEvent.computeIfPresent(eventId, (id, occupancy) -> occupancy.remove(bookingId));
+            if (showTimeId != null) {
+                byShowTime.computeIfPresent(showTimeId, (id, occupancy) -> occupancy.remove(bookingId));
+            }
+        });
+    }
+
+    public void evictEvent(Long eventId) {
+        byEvent.remove(eventId);
+    }
+
+    public void evictShowTime(Long showTimeId) {
+        byShowTime.remove(showTimeId);
+    }
+
+    private Occupancy forEvent(Long eventId) {
+        return get(byEvent, eventId, id -> bookingSeatService.isBackfilled()
+                ? fromSeatRows(bookingSeatRepository.findOwnersByEventId(id), false)
+                : fromBookings(bookingRepository.findSeatsByEventIdAndStatusNot(id, "CANCELLED"), false));
+    }
+
+    private Occupancy forShowTime(Long showTimeId) {
+        return get(byShowTime, showTimeId, id -> bookingSeatService.isBackfilled()
+                ? fromSeatRows(bookingSeatRepository.findOwnersByShowTimeId(id), true)
+                : fromBookings(bookingRepository.findSeatsByShowTimeIdAndStatusNot(id, "CANCELLED"), true));
+    }
+
+    private Occupancy get(ConcurrentHashMap<Long, Occupancy> index, Long key, Function<Long, Occupancy> loader) {
+        Occupancy occupancy = index.get(key);
+        if (occupancy == null) {
+            occupancy = index.computeIfAbsent(key, loader);
+        }
+        return occupancy;
+    }
+
+    // Showtime seats are listed in the seat picker's "row-col" form, whichever form was stored
+    private static Occupancy fromBookings(List<BookingRepository.BookedSeats> rows, boolean showTime) {
+        Occupancy loaded = new Occupancy();
+        for (BookingRepository.BookedSeats row : rows) {
+            String[] seats = split(row.getSeats());
+            loaded.put(row.getId(), showTime ? pickerIds(seats) : seats);
+        }
+        return loaded;
+    }
+
+    private static Occupancy fromSeatRows(List<BookingSeatRepository.SeatOwner> rows, boolean showTime) {
+        Map<Long, List<String>> seatsByBooking = new HashMap<>();
+        for (BookingSeatRepository.SeatOwner row : rows) {
+            seatsByBooking.computeIfAbsent(row.getBookingId(), id -> new ArrayList<>()).add(row.getSeatLabel());
+        }
+        Occupancy loaded = new Occupancy();
+        seatsByBooking.forEach((bookingId, seats) -> {
+            String[] labels = seats.toArray(new String[0]);
+            loaded.put(bookingId, showTime ? pickerIds(labels) : labels);
+        });
+        return loaded;
+    }
+
+    // "A-1, A-2" -> ["A-1", "A-2"] (same trimming the endpoints always did)
+    private static String[] split(String seats) {
+        if (seats == null || seats.isEmpty()) return new String[0];
+        List<String> parts = new ArrayList<>();
+        for (String s : seats.split(",")) {
+            String trimmed = s.trim();
+            if (!trimmed.isEmpty()) parts.add(trimmed);
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    private static String[] pickerIds(String[] seats) {
+        String[] ids = new String[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            ids[i] = SeatLabels.pickerId(seats[i]);
+        }
+        return ids;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Seats per booking plus a flattened list that is rebuilt only after a change
+    private static class Occupancy {
+        private final Map<Long, String[]> seatsByBooking = new HashMap<>();
+        private List<String> snapshot;
+        private long stamp = STAMPS.incrementAndGet();
+
+        synchronized Occupancy put(Long bookingId, String[] seats) {
+            seatsByBooking.put(bookingId, seats);
+            snapshot = null;
+            stamp = STAMPS.incrementAndGet();
+            return this;
+        }
+
+        synchronized Occupancy remove(Long bookingId) {
+            if (seatsByBooking.remove(bookingId) != null) {
+                snapshot = null;
+                stamp = STAMPS.incrementAndGet();
+            }
+            return this;
+        }
+
+        synchronized long stamp() {
+            return stamp;
+        }
+
+        synchronized List<String> snapshot() {
+            if (snapshot == null) {
+                List<String> seats = new ArrayList<>();
+                for (String[] booked : seatsByBooking.values()) {
+                    Collections.addAll(seats, booked);
+                }
+                snapshot = Collections.unmodifiableList(seats);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.OutboxMessage;
+import com.eventmate.eventmate_backend.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends queued outbox mail on its own thread, a batch at a time.
+ *
+ * Each batch is claimed in a short transaction: the due rows are locked with SKIP LOCKED and
+ * leased for {@link #LEASE_SECONDS}, so several instances can dispatch without sending a
+ * message twice, and mail a crashed instance had claimed is picked up once its lease runs out.
+ * A failed send is retried with exponential backoff (30s, 1m, 2m ... capped at 1h) and marked
+ * FAILED after {@link #MAX_ATTEMPTS}. Only one drain runs at a time; the scheduler and
+ * {@link #wakeUp()} just start one if the dispatcher is idle, so slow SMTP never holds up
+ * the shared scheduler thread or a request.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final long LEASE_SECONDS = 600;
+    private static final int PURGE_CHUNK = 1000;
+
+    // Sent and failed mail is kept this long, then purged
+    @Value("${eventmate.outbox.retention-days:14}")
+    private int retentionDays;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate claimTransaction;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wokenDuringDrain = new AtomicBoolean();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        claimTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Starts a drain unless one is running (which then makes another pass)
+    public void wakeUp() {
+        wokenDuringDrain.set(true);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (wokenDuringDrain.getAndSet(false)) {
+                List<OutboxMessage> batch;
+                do {
+                    batch = claimBatch();
+                    for (OutboxMessage message : batch) {
+                        deliver(message);
+                    }
+                } while (batch.size() == BATCH_SIZE);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Outbox drain failed: " + e.getMessage());
+        } finally {
+            draining.set(false);
+            // A wake-up that arrived after the last pass would otherwise wait for the scheduler
+            if (wokenDuringDrain.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Deletes sent and failed mail older than the retention period, a chunk per transaction.
+     * Returns the number of rows deleted.
+     */
+    public int purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = claimTransaction.execute(tx -> outboxRepository.deleteFinishedBefore(cutoff, PURGE_CHUNK));
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK);
+        return purged;
+    }
+
+    // Locks and leases the next due messages; the lease is committed before any of them is sent
+    private List<OutboxMessage> claimBatch() {
+        return claimTransaction.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.lockDueIds(now, BATCH_SIZE);
+            if (ids.isEmpty()) return List.of();
+            outboxRepository.lease(ids, now.plusSeconds(LEASE_SECONDS));
+            List<OutboxMessage> batch = new ArrayList<>(outboxRepository.findAllById(ids));
+            batch.sort(Comparator.comparing(OutboxMessage::getId));
+            return batch;
+        });
+    }
+
+    private void deliver(OutboxMessage message) {
+        try {
+            emailService.send(message.getRecipient(), message.getSubject(), message.getBody());
+            message.setStatus(OutboxMessage.Status.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+        } catch (Exception e) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(truncate(e.getMessage()));
+            if (attempts >= MAX_ATTEMPTS) {
+                message.setStatus(OutboxMessage.Status.FAILED);
+                System.err.println("❌ Giving up on email " + message.getId() + " to " + message.getRecipient());
+            } else {
+                long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (attempts - 1));
+                message.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+            }
+        }
+        outboxRepository.save(message);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
@@ -0,0 +1,44 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.OutboxMessage;
+import com.eventmate.eventmate_backend.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Queues outgoing email in the outbox_messages table.
+ *
+ * The row joins the caller's transaction, so a mail is recorded only if the booking (or
+ * notification) commits, and nothing here waits on SMTP. After the commit the dispatcher is
+ * nudged so the mail still goes out within moments.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    public void enqueueEmail(String to, String subject, String body) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(body);
+        outboxRepository.save(message);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            outboxDispatcher.wakeUp();
+        }
+    }
+}
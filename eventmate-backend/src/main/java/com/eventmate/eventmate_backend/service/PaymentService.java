@@ -2,6 +2,7 @@ package com.eventmate.eventmate_backend.service;
 
 import com.stripe.Stripe;
 import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,11 @@ public class PaymentService {
     }
 
     public Map<String, String> createPaymentIntent(Double amount, String currency) throws Exception {
+        return createPaymentIntent(amount, currency, null);
+    }
+
+    // ✅ NEW: With a key, Stripe itself returns the same intent for a retried create
+    public Map<String, String> createPaymentIntent(Double amount, String currency, String idempotencyKey) throws Exception {
         // ✅ FIX: Enforce Minimum Amount for Stripe (approx 50 cents)
         if (amount < 50) {
             throw new RuntimeException("Amount must be at least ₹50 to process payment via Stripe.");
@@ -39,7 +45,10 @@ public class PaymentService {
                 )
                 .build();
 
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
+        RequestOptions options = idempotencyKey != null
+                ? RequestOptions.builder().setIdempotencyKey(idempotencyKey).build()
+                : RequestOptions.getDefault();
+        PaymentIntent paymentIntent = PaymentIntent.create(params, options);
 
         Map<String, String> response = new HashMap<>();
         response.put("clientSecret", paymentIntent.getClientSecret());
@@ -0,0 +1,393 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.dto.SeatBlock;
+import com.eventmate.eventmate_backend.dto.SeatView;
+import com.eventmate.eventmate_backend.inventory.SeatClassTable;
+import com.eventmate.eventmate_backend.inventory.SeatLabels;
+import com.eventmate.eventmate_backend.inventory.SeatMap;
+import com.eventmate.eventmate_backend.inventory.TimerWheel;
+import com.eventmate.eventmate_backend.model.SeatStatus;
+import com.eventmate.eventmate_backend.model.ShowTime;
+import com.eventmate.eventmate_backend.repository.SeatStatusRepository;
+import com.eventmate.eventmate_backend.repository.ShowTimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory seat inventory, one {@link SeatMap} per showtime.
+ *
+ * A map is hydrated from seat_status the first time its showtime is touched and every
+ * change made through this service is written through to the table, so layout reads
+ * and lock checks never need a per-seat query.
+ *
+ * Sparse showtimes (ShowTime.sparseSeats) have no row for AVAILABLE seats; their map starts
+ * fully AVAILABLE from the layout, a lock inserts rows and an expired lock deletes them.
+ *
+ * Lock expiry is tracked in a timer wheel rather than by polling the table: each lock is
+ * scheduled for its lock_expires_at and released within about a tick of it.
+ *
+ * Every committed change (lock, expiry, booking, cancellation) is also published to
+ * {@link SeatStreamService} for live seat-map clients.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final int LOCK_MINUTES = 10;
+
+    private static final long EXPIRY_TICK_MILLIS = 1000;
+    private static final int MAX_CLAIM_ATTEMPTS = 5;
+
+    private static final SeatStatus.Status[] STATUSES = SeatStatus.Status.values();
+
+    @Autowired
+    private SeatStatusRepository seatStatusRepository;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Autowired
+    private SeatMaterializer seatMaterializer;
+
+    @Autowired
+    private SeatStreamService seatStreamService;
+
+    @Autowired
+    private SeatPricingService seatPricingService;
+
+    private final ConcurrentHashMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    // 1024 one-second slots cover a full 10-minute hold in a single revolution
+    private final TimerWheel lockExpiry = new TimerWheel(EXPIRY_TICK_MILLIS, 1024, System.currentTimeMillis());
+
+    public SeatMap getSeatMap(Long showTimeId) {
+        SeatMap map = seatMaps.get(showTimeId);
+        if (map != null) return map;
+        return seatMaps.computeIfAbsent(showTimeId, this::hydrate);
+    }
+
+    // Seat map for the layout endpoint: the layout merged with stored rows. In dense mode, grid
+    // positions without a seat row are skipped.
+    public List<SeatView> getLayout(Long showTimeId) {
+        SeatMap map = getSeatMap(showTimeId);
+        int[] states = map.snapshot();
+
+        List<SeatView> layout = new ArrayList<>(states.length);
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] != SeatMap.ABSENT) {
+                layout.add(new SeatView(map.labelOf(i), STATUSES[states[i]]));
+            }
+        }
+        return layout;
+    }
+
+    @Transactional
+    public void lockSeats(Long showTimeId, List<String> seatLabels, Long userId) {
+        SeatMap map = getSeatMap(showTimeId);
+
+        // 1. Claim the seats in memory first (lock-free CAS). Losers are rejected without any SQL.
+        int[] indices = resolve(map, seatLabels);
+        int blocked = map.tryTransition(indices, SeatMap.AVAILABLE, SeatMap.LOCKED);
+        if (blocked >= 0) {
+            throw new RuntimeException("Seat " + seatLabels.get(blocked) + " is already taken!");
+        }
+
+        // 2. Write through with a single conditional UPDATE
+        persistLocks(showTimeId, map, indices, userId);
+    }
+
+    /**
+     * Finds and locks the {@code count} adjacent seats closest to the centre of the hall,
+     * optionally only in rows of one seat class. The search runs on the seat map's free-run
+     * index; if another buyer claims the block first, the next best one is tried.
+     */
+    @Transactional
+    public SeatBlock lockBestAvailable(Long showTimeId, int count, String seatClass, Long userId) {
+        if (count < 1 || count > BookingService.MAX_TICKETS_PER_BOOKING) {
+            throw new RuntimeException("You can book between 1 and " + BookingService.MAX_TICKETS_PER_BOOKING + " seats at once.");
+        }
+        ShowTime showTime = showTimeRepository.findById(showTimeId)
+                .orElseThrow(() -> new RuntimeException("Showtime not found"));
+        SeatMap map = getSeatMap(showTimeId);
+        SeatClassTable classes = seatPricingService.tableFor(showTime);
+
+        boolean[] allowedRows = null;
+        if (seatClass != null && !seatClass.isBlank()) {
+            allowedRows = classes.rowsOf(seatClass);
+            if (allowedRows == null) {
+                throw new RuntimeException("Unknown seat class: " + seatClass);
+            }
+        }
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            int start = map.findBestBlock(count, allowedRows);
+            if (start < 0) break;
+
+            int[] indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = start + i;
+            }
+            if (map.tryTransition(indices, SeatMap.AVAILABLE, SeatMap.LOCKED) >= 0) continue;
+
+            Set<String> labels = persistLocks(showTimeId, map, indices, userId);
+            int row = start / map.getCols();
+            double price = classes.priceOf(row);
+            return new SeatBlock(new ArrayList<>(labels), classes.classOf(row), Double.isNaN(price) ? null : price);
+        }
+        throw new RuntimeException("No " + count + " adjacent seats are available"
+                + (allowedRows != null ? " in " + seatClass : "") + ". Please pick seats manually.");
+    }
+
+    // Writes seats already claimed in the map through to seat_status; returns their labels
+    private Set<String> persistLocks(Long showTimeId, SeatMap map, int[] indices, Long userId) {
+        Set<String> labels = labelsOf(map, indices);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(LOCK_MINUTES);
+        onCompletion(showTimeId, () -> {
+            scheduleExpiry(showTimeId, labels, expiresAt);
+            seatStreamService.publish(showTimeId, indices, SeatMap.LOCKED);
+        });
+        int locked;
+        if (map.isSparse()) {
+            try {
+                locked = seatMaterializer.insertLockedSeats(showTimeId, labels, userId, expiresAt);
+            } catch (DataIntegrityViolationException e) {
+                locked = 0; // another row already exists for one of the seats
+            }
+        } else {
+            locked = seatStatusRepository.lockAvailableSeats(showTimeId, labels, userId, expiresAt);
+        }
+
+        // 3. Partial match means the map was stale: throwing rolls back and the map is rebuilt
+        if (locked != labels.size()) {
+            throw new RuntimeException("Some of the selected seats were just taken. Please choose others.");
+        }
+        return labels;
+    }
+
+    /**
+     * Releases every lock whose deadline has passed since the last call: one bulk UPDATE (plus a
+     * DELETE for sparse showtimes) for all affected showtimes, then the matching seat-map updates.
+     * Returns the number released.
+     */
+    public int releaseExpiredLocks() {
+        long[] expired = lockExpiry.advance(System.currentTimeMillis());
+        if (expired.length == 0) return 0;
+
+        Set<Long> showTimeIds = new HashSet<>();
+        for (long key : expired) {
+            showTimeIds.add(key >>> 32);
+        }
+
+        int released;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            released = seatStatusRepository.releaseExpiredLocks(showTimeIds, now)
+                    + seatStatusRepository.deleteExpiredLocks(showTimeIds, now);
+        } catch (RuntimeException e) {
+            // Try again on the next tick rather than leaving the seats locked
+            long retryAt = System.currentTimeMillis() + EXPIRY_TICK_MILLIS;
+            for (long key : expired) {
+                lockExpiry.schedule(key, retryAt);
+            }
+            throw e;
+        }
+
+        Map<Long, List<Integer>> releasedByShowTime = new HashMap<>();
+        for (long key : expired) {
+            Long showTimeId = key >>> 32;
+            SeatMap map = seatMaps.get(showTimeId);
+            if (map == null) continue;
+            int index = map.indexOf(SeatLabels.format(SeatLabels.row((int) key), SeatLabels.col((int) key)));
+            if (index >= 0 && map.compareAndSet(index, SeatMap.LOCKED, SeatMap.AVAILABLE)) {
+                releasedByShowTime.computeIfAbsent(showTimeId, id -> new ArrayList<>()).add(index);
+            }
+        }
+        releasedByShowTime.forEach((showTimeId, seats) ->
+                seatStreamService.publish(showTimeId, seats.stream().mapToInt(Integer::intValue).toArray(), SeatMap.AVAILABLE));
+        return released;
+    }
+
+    /**
+     * Marks the seats of a new showtime booking as BOOKED (inserting rows in sparse mode) and
+     * stops their lock timers. Fails if any seat is locked by someone else or already booked.
+     * Labels that don't map to a seat (e.g. GEN-5) are ignored.
+     */
+    @Transactional
+    public void bookSeats(Long showTimeId, String seats, Long userId) {
+        SeatMap map = getSeatMap(showTimeId);
+        int[] indices = indicesOf(map, seats);
+        if (indices.length == 0) return;
+
+        Set<String> labels = labelsOf(map, indices);
+        onCompletion(showTimeId, () -> {
+            for (int index : indices) {
+                map.set(index, SeatMap.BOOKED);
+            }
+            for (String label : labels) {
+                lockExpiry.cancel(lockKey(showTimeId, SeatLabels.parse(label)));
+            }
+            seatStreamService.publish(showTimeId, indices, SeatMap.BOOKED);
+        });
+        seatMaterializer.bookSeats(showTimeId, labels, userId, map.isSparse());
+    }
+
+    // Frees the seats of a cancelled booking (rows are deleted in sparse mode)
+    @Transactional
+    public void releaseBookedSeats(Long showTimeId, String seats) {
+        SeatMap map = getSeatMap(showTimeId);
+        int[] indices = indicesOf(map, seats);
+        if (indices.length == 0) return;
+
+        Set<String> labels = labelsOf(map, indices);
+        onCompletion(showTimeId, () -> {
+            for (int index : indices) {
+                map.compareAndSet(index, SeatMap.BOOKED, SeatMap.AVAILABLE);
+            }
+            seatStreamService.publish(showTimeId, indices, SeatMap.AVAILABLE);
+        });
+        if (map.isSparse()) {
+            seatStatusRepository.deleteBookedSeats(showTimeId, labels);
+        } else {
+            seatStatusRepository.releaseBookedSeats(showTimeId, labels);
+        }
+    }
+
+    // Re-schedules every outstanding lock; already expired ones are released on the next tick
+    public void rebuildLockExpiry() {
+        List<SeatStatusRepository.SeatLock> locks = seatStatusRepository.findLocksByStatus(SeatStatus.Status.LOCKED);
+        long now = System.currentTimeMillis();
+        for (SeatStatusRepository.SeatLock lock : locks) {
+            int packed = SeatLabels.parse(lock.getSeatLabel());
+            if (packed == SeatLabels.INVALID) continue;
+            long deadline = lock.getLockExpiresAt() != null ? toEpochMillis(lock.getLockExpiresAt()) : now;
+            lockExpiry.schedule(lockKey(lock.getShowTimeId(), packed), deadline);
+        }
+    }
+
+    public void evict(Long showTimeId) {
+        seatMaps.remove(showTimeId);
+        seatStreamService.evict(showTimeId);
+    }
+
+    private int[] resolve(SeatMap map, List<String> seatLabels) {
+        int[] indices = new int[seatLabels.size()];
+        for (int i = 0; i < indices.length; i++) {
+            int index = map.indexOf(seatLabels.get(i));
+            if (index < 0 || map.get(index) == SeatMap.ABSENT) {
+                throw new RuntimeException("Seat " + seatLabels.get(i) + " does not exist.");
+            }
+            indices[i] = index;
+        }
+        return indices;
+    }
+
+    // Seat indices for a comma-separated booking string, skipping anything that isn't a seat
+    private static int[] indicesOf(SeatMap map, String seats) {
+        if (seats == null || seats.isBlank()) return new int[0];
+        return Arrays.stream(seats.split(","))
+                .mapToInt(map::indexOf)
+                .filter(index -> index >= 0)
+                .distinct()
+                .toArray();
+    }
+
+    private static Set<String> labelsOf(SeatMap map, int[] indices) {
+        Set<String> labels = new LinkedHashSet<>();
+        for (int index : indices) {
+            labels.add(map.labelOf(index));
+        }
+        return labels;
+    }
+
+    private void scheduleExpiry(Long showTimeId, Set<String> labels, LocalDateTime expiresAt) {
+        long deadline = toEpochMillis(expiresAt);
+        for (String label : labels) {
+            lockExpiry.schedule(lockKey(showTimeId, SeatLabels.parse(label)), deadline);
+        }
+    }
+
+    // Timer keys pack the showtime with the seat's (row, col), which doesn't depend on grid size
+    private static long lockKey(Long showTimeId, int packedSeat) {
+        return (showTimeId << 32) | (packedSeat & 0xFFFFFFFFL);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // The map is updated before commit; if the transaction rolls back it is rebuilt from the DB
+    // and its version bumped, since readers may have seen (and cached) the uncommitted states
+    private void onCompletion(Long showTimeId, Runnable afterCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    afterCommit.run();
+                } else {
+                    // Also restarts the stream above every version clients have seen
+                    evict(showTimeId);
+                }
+            }
+        });
+    }
+
+    private SeatMap hydrate(Long showTimeId) {
+        ShowTime showTime = showTimeRepository.findById(showTimeId)
+                .orElseThrow(() -> new RuntimeException("Showtime not found"));
+
+        boolean sparse = showTime.isSparseSeats();
+
+        // Grid size comes from the Hall (movies) or the Event (seated standard events)
+        int rows = 0;
+        int cols = 0;
+        if (showTime.getHall() != null) {
+            rows = valueOrZero(showTime.getHall().getTotalRows());
+            cols = valueOrZero(showTime.getHall().getTotalCols());
+        } else if (showTime.getEvent() != null) {
+            rows = valueOrZero(showTime.getEvent().getTotalRows());
+            cols = valueOrZero(showTime.getEvent().getTotalCols());
+        }
+
+        // Grow the grid if stored labels fall outside the configured layout
+        List<SeatStatusRepository.SeatState> states = seatStatusRepository.findStatesByShowTimeId(showTimeId);
+        for (SeatStatusRepository.SeatState state : states) {
+            int packed = SeatLabels.parse(state.getSeatLabel());
+            if (packed == SeatLabels.INVALID) continue;
+            rows = Math.max(rows, SeatLabels.row(packed) + 1);
+            cols = Math.max(cols, SeatLabels.col(packed) + 1);
+        }
+
+        SeatMap map = new SeatMap(rows, cols, sparse);
+        for (SeatStatusRepository.SeatState state : states) {
+            int index = map.indexOf(state.getSeatLabel());
+            if (index >= 0 && state.getStatus() != null) {
+                map.set(index, state.getStatus().ordinal());
+            }
+        }
+        return map;
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.SeatLabels;
+import com.eventmate.eventmate_backend.model.ShowTime;
+import com.eventmate.eventmate_backend.repository.ShowTimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Writes the seat_status rows for a new showtime with multi-row INSERTs.
+ *
+ * SeatStatus uses IDENTITY ids, so saveAll() can't be batched by Hibernate and a 40x60 layout
+ * turns into 2,400 single-row INSERTs. Going through JDBC with no managed entities brings that
+ * down to a handful of statements.
+ *
+ * With eventmate.seats.sparse=true new showtimes skip this entirely: their seat map is derived
+ * from the layout and only LOCKED/BOOKED seats get rows (see {@link #insertLockedSeats}).
+ */
+@Service
+public class SeatMaterializer {
+
+    private static final int ROWS_PER_INSERT = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShowTimeRepository showTimeRepository;
+
+    @Value("${eventmate.seats.sparse:false}")
+    private boolean sparseByDefault;
+
+    // Seat mode for newly created showtimes
+    public boolean isSparseByDefault() {
+        return sparseByDefault;
+    }
+
+    /**
+     * Saves a new showtime and, unless it is sparse, its {@code rows} x {@code cols} seats in one
+     * transaction, so a failed seat insert doesn't leave a showtime with no seats behind.
+     */
+    @Transactional
+    public ShowTime createShowTime(ShowTime showTime, int rows, int cols) {
+        ShowTime saved = showTimeRepository.save(showTime);
+        if (!saved.isSparseSeats() && rows > 0 && cols > 0) {
+            materialize(saved.getId(), rows, cols);
+        }
+        return saved;
+    }
+
+    /**
+     * Inserts an AVAILABLE seat for every (row, col) of the grid and returns the time taken in ms.
+     */
+    @Transactional
+    public long materialize(Long showTimeId, int rows, int cols) {
+        long start = System.nanoTime();
+        int total = rows * cols;
+
+        String fullChunkSql = insertSql(Math.min(ROWS_PER_INSERT, total));
+        Object[] args = new Object[Math.min(ROWS_PER_INSERT, total) * 2];
+
+        int seat = 0;
+        while (seat < total) {
+            int chunk = Math.min(ROWS_PER_INSERT, total - seat);
+            Object[] chunkArgs = chunk * 2 == args.length ? args : new Object[chunk * 2];
+            for (int i = 0; i < chunk; i++, seat++) {
+                chunkArgs[i * 2] = showTimeId;
+                chunkArgs[i * 2 + 1] = SeatLabels.format(seat / cols, seat % cols);
+            }
+            jdbcTemplate.update(chunkArgs == args ? fullChunkSql : insertSql(chunk), chunkArgs);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("🪑 Materialized " + total + " seats for showtime " + showTimeId + " in " + elapsedMillis + " ms");
+        return elapsedMillis;
+    }
+
+    /**
+     * Sparse mode: inserts LOCKED rows for the given seats in one statement. The unique
+     * (showtime_id, seat_label) constraint makes this fail as a whole if any seat already has a row.
+     */
+    public int insertLockedSeats(Long showTimeId, Collection<String> seatLabels, Long userId, LocalDateTime expiresAt) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO seat_status (showtime_id, seat_label, status, locked_by_user_id, lock_expires_at) VALUES ");
+        Object[] args = new Object[seatLabels.size() * 4];
+        int i = 0;
+        for (String label : seatLabels) {
+            if (i > 0) sql.append(", ");
+            sql.append("(?, ?, 'LOCKED', ?, ?)");
+            args[i++] = showTimeId;
+            args[i++] = label;
+            args[i++] = userId;
+            args[i++] = expiresAt;
+        }
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * Marks seats BOOKED for {@code userId}. Only AVAILABLE seats and seats LOCKED by that user are
+     * flipped; in sparse mode seats with no row yet are inserted. Throws (rolling back the caller's
+     * transaction) unless every seat was taken, so a seat held or sold to someone else is never
+     * overwritten.
+     */
+    public int bookSeats(Long showTimeId, Collection<String> seatLabels, Long userId, boolean sparse) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE seat_status SET status = 'BOOKED', lock_expires_at = NULL WHERE showtime_id = ? AND seat_label IN (");
+        Object[] args = new Object[seatLabels.size() + 2];
+        int i = 0;
+        args[i++] = showTimeId;
+        for (String label : seatLabels) {
+            sql.append(i > 1 ? ", ?" : "?");
+            args[i++] = label;
+        }
+        sql.append(") AND (status = 'AVAILABLE' OR (status = 'LOCKED' AND locked_by_user_id = ?))");
+        args[i] = userId;
+        int booked = jdbcTemplate.update(sql.toString(), args);
+
+        if (sparse && booked < seatLabels.size()) {
+            // Rows that already exist (including someone else's) are skipped, not overwritten
+            StringBuilder insert = new StringBuilder("INSERT IGNORE INTO seat_status (showtime_id, seat_label, status) VALUES ");
+            Object[] insertArgs = new Object[seatLabels.size() * 2];
+            int j = 0;
+            for (String label : seatLabels) {
+                if (j > 0) insert.append(", ");
+                insert.append("(?, ?, 'BOOKED')");
+                insertArgs[j++] = showTimeId;
+                insertArgs[j++] = label;
+            }
+            booked += jdbcTemplate.update(insert.toString(), insertArgs);
+        }
+
+        if (booked != seatLabels.size()) {
+            throw new RuntimeException("Some of the selected seats are no longer available.");
+        }
+        return booked;
+    }
+
+    private static String insertSql(int seats) {
+        StringBuilder sql = new StringBuilder("INSERT INTO seat_status (showtime_id, seat_label, status) VALUES ");
+        for (int i = 0; i < seats; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(?, ?, 'AVAILABLE')");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.SeatClassTable;
+import com.eventmate.eventmate_backend.inventory.SeatLabels;
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.model.Hall;
+import com.eventmate.eventmate_backend.model.ShowTime;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side seat prices.
+ *
+ * An event's seatConfig is compiled into a {@link SeatClassTable} (price and class per row) the
+ * first time it's needed and cached by event id; movie events without their own config use the
+ * hall's, cached by hall id (halls can't be edited). Pricing a booking is then one array lookup
+ * per seat. Callers that change an event's seatConfig must evict its table.
+ */
+@Service
+public class SeatPricingService {
+
+    private static final SeatClassTable NO_RULES = SeatClassTable.parse(null);
+
+    private final ConcurrentHashMap<Long, SeatClassTable> byEvent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SeatClassTable> byHall = new ConcurrentHashMap<>();
+
+    public SeatClassTable tableFor(Event event, Hall hall) {
+        if (event != null && hasRules(event.getSeatConfig())) {
+            return cached(byEvent, event.getId(), event.getSeatConfig());
+        }
+        if (hall != null && hasRules(hall.getSeatConfig())) {
+            return cached(byHall, hall.getId(), hall.getSeatConfig());
+        }
+        return NO_RULES;
+    }
+
+    public SeatClassTable tableFor(ShowTime showTime) {
+        return tableFor(showTime.getEvent(), showTime.getHall());
+    }
+
+    /**
+     * Total for a booking: each seat label ("A5" or "1-5") is priced by its row, seats in rows
+     * without a rule (and general-admission ids like GEN-12) at the event's base price.
+     */
+    public double totalPrice(Event event, ShowTime showTime, String seats, int ticketsCount) {
+        double basePrice = event.getPrice() != null ? event.getPrice() : 0.0;
+        if (seats == null || seats.isBlank()) {
+            return basePrice * ticketsCount;
+        }
+
+        SeatClassTable table = showTime != null ? tableFor(showTime) : tableFor(event, null);
+        double total = 0;
+        for (String seat : seats.split(",")) {
+            int packed = SeatLabels.parse(seat.trim());
+            double price = packed != SeatLabels.INVALID ? table.priceOf(SeatLabels.row(packed)) : Double.NaN;
+            total += Double.isNaN(price) ? basePrice : price;
+        }
+        return total;
+    }
+
+    public void evictEvent(Long eventId) {
+        byEvent.remove(eventId);
+    }
+
+    private static SeatClassTable cached(ConcurrentHashMap<Long, SeatClassTable> cache, Long id, String seatConfig) {
+        if (id == null) return SeatClassTable.parse(seatConfig);
+        SeatClassTable table = cache.get(id);
+        if (table != null) return table;
+        return cache.computeIfAbsent(id, key -> SeatClassTable.parse(seatConfig));
+    }
+
+    private static boolean hasRules(String seatConfig) {
+        return seatConfig != null && seatConfig.indexOf(':') >= 0;
+    }
+}
@@ -0,0 +1,345 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.SeatDeltaLog;
+import com.eventmate.eventmate_backend.inventory.SeatMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes seat-map changes to browsers over Server-Sent Events.
+ *
+ * Each change is versioned in a per-showtime {@link SeatDeltaLog}. A new subscriber gets either
+ * the deltas it missed (reconnect with Last-Event-ID) or a full snapshot, then live deltas.
+ * Connections are async servlet responses, so an idle subscriber holds no request thread.
+ *
+ * Versions are taken and queued to every subscriber under the showtime's log lock, so each
+ * subscriber's queue is in version order. Every subscriber has its own bounded queue, drained
+ * by a small writer pool; one that falls {@link #MAX_PENDING} events behind is closed (its
+ * EventSource reconnects and catches up from the log) instead of holding up the others.
+ * SseEmitter.send blocks on a stalled socket, so a send still running after
+ * {@link #SEND_TIMEOUT_MILLIS} closes its subscriber and the pool gets an extra writer until
+ * that send returns; a few stuck clients can't freeze every stream on the node. Nothing but the
+ * subscriber's own writer touches an emitter that may be mid-send, as send and complete share
+ * its lock.
+ *
+ * Wire format (state codes: 0 AVAILABLE, 1 LOCKED, 2 BOOKED, 3 no seat):
+ *   event: snapshot  data: {"version":v,"rows":r,"cols":c,"seats":"0012..."}  (one digit per seat index)
+ *   event: delta     data: [[version,seatIndex,state],...]
+ * Event ids are "bootId-version"; an id from another boot or too far back gets a new snapshot.
+ */
+@Service
+public class SeatStreamService {
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final int DELTA_HISTORY = 4096;
+    static final int WRITER_THREADS = 4;
+    static final int MAX_PENDING = 256;
+    static final long SEND_TIMEOUT_MILLIS = 10_000;
+    // Writers added in place of stalled ones, at most
+    private static final int MAX_STALLED_WRITERS = 64;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentHashMap<Long, SeatDeltaLog> logs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Subscribers with a send in progress, including ones already closed for falling behind
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+
+    // Highest version any evicted log reached; new logs start above it so versions never repeat
+    private final AtomicLong evictedVersions = new AtomicLong();
+
+    private final AtomicInteger writerCount = new AtomicInteger();
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+    private final ThreadPoolExecutor writers = new ThreadPoolExecutor(
+            WRITER_THREADS, WRITER_THREADS + MAX_STALLED_WRITERS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "seat-stream-" + writerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public long currentVersion(Long showTimeId) {
+        return logFor(showTimeId).latestVersion();
+    }
+
+    // "bootId-version": the id of the latest stream event, also used as the seat-map ETag
+    public String versionTag(Long showTimeId) {
+        return eventId(currentVersion(showTimeId));
+    }
+
+    /**
+     * Forgets the showtime's history and closes its streams; called when its seat map is evicted.
+     * EventSource reconnects on its own and, with its now-unknown Last-Event-ID, gets a snapshot
+     * of the reloaded map.
+     */
+    public void evict(Long showTimeId) {
+        logs.computeIfPresent(showTimeId, (id, log) -> {
+            evictedVersions.accumulateAndGet(log.latestVersion(), Math::max);
+            return null;
+        });
+        closeAll(showTimeId);
+    }
+
+    /**
+     * Records that {@code seats} moved to {@code state} and sends the delta to live subscribers.
+     * Call after the change is visible in the seat map (i.e. after commit).
+     */
+    public void publish(Long showTimeId, int[] seats, int state) {
+        if (seats.length == 0) return;
+        SeatDeltaLog log = logFor(showTimeId);
+        synchronized (log) {
+            long last = log.append(seats, state);
+            Set<Subscriber> targets = subscribers.get(showTimeId);
+            if (targets == null || targets.isEmpty()) return;
+
+            StringBuilder data = new StringBuilder(seats.length * 12).append('[');
+            long version = last - seats.length + 1;
+            for (int i = 0; i < seats.length; i++) {
+                if (i > 0) data.append(',');
+                data.append('[').append(version + i).append(',').append(seats[i]).append(',').append(state).append(']');
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().id(eventId(last)).name("delta").data(data.append(']').toString());
+            for (Subscriber subscriber : targets) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public SseEmitter subscribe(Long showTimeId, String lastEventId, SeatMap map) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(showTimeId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Catch-up is queued first and the subscriber registered under the log lock, so no live
+        // delta can overtake it or be missed
+        SeatDeltaLog log = logFor(showTimeId);
+        synchronized (log) {
+            int[] missed = log.since(parseVersion(lastEventId));
+            if (missed == null) {
+                subscriber.offer(snapshot(log.latestVersion(), map));
+            } else if (missed.length > 0) {
+                subscriber.offer(backlog(log.latestVersion(), missed));
+            }
+            subscribers.compute(showTimeId, (id, targets) -> {
+                Set<Subscriber> set = targets != null ? targets : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and flushes out dead ones
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+        subscribers.forEach((showTimeId, targets) -> {
+            for (Subscriber subscriber : targets) {
+                subscriber.offer(ping);
+            }
+        });
+    }
+
+    // Closes streams whose send has been stuck past the deadline and frees up their writers
+    @Scheduled(fixedRate = 2000)
+    public void closeStalledStreams() {
+        closeStalledStreams(System.currentTimeMillis());
+    }
+
+    void closeStalledStreams(long now) {
+        long cutoff = now - SEND_TIMEOUT_MILLIS;
+        for (Subscriber subscriber : sending) {
+            subscriber.closeIfStalled(cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // Overridden in tests to record what would go over the wire
+    SseEmitter createEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+    }
+
+    private SseEmitter.SseEventBuilder snapshot(long version, SeatMap map) {
+        // States read after the version, so everything up to `version` is already in them
+        int[] states = map.snapshot();
+        StringBuilder seats = new StringBuilder(states.length);
+        for (int state : states) {
+            seats.append((char) ('0' + state));
+        }
+        String data = "{\"version\":" + version + ",\"rows\":" + map.getRows() + ",\"cols\":" + map.getCols()
+                + ",\"seats\":\"" + seats + "\"}";
+        return SseEmitter.event().id(eventId(version)).name("snapshot").data(data);
+    }
+
+    private SseEmitter.SseEventBuilder backlog(long latest, int[] missed) {
+        StringBuilder data = new StringBuilder(missed.length * 12).append('[');
+        long version = latest - missed.length + 1;
+        for (int i = 0; i < missed.length; i++) {
+            if (i > 0) data.append(',');
+            data.append('[').append(version + i).append(',')
+                    .append(SeatDeltaLog.seatOf(missed[i])).append(',')
+                    .append(SeatDeltaLog.stateOf(missed[i])).append(']');
+        }
+        return SseEmitter.event().id(eventId(latest)).name("delta").data(data.append(']').toString());
+    }
+
+    private void closeAll(Long showTimeId) {
+        Set<Subscriber> targets = subscribers.get(showTimeId);
+        if (targets == null) return;
+        for (Subscriber subscriber : targets) {
+            subscriber.close();
+        }
+    }
+
+    // Drops the subscriber, and the showtime's entry once nobody is left
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.showTimeId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    // One more (or one fewer) writer stuck in a send; the pool keeps WRITER_THREADS free ones
+    private void adjustStalledWriters(int delta) {
+        synchronized (writers) {
+            int stalled = stalledWriters.addAndGet(delta);
+            writers.setCorePoolSize(WRITER_THREADS + Math.min(stalled, MAX_STALLED_WRITERS));
+        }
+    }
+
+    private SeatDeltaLog logFor(Long showTimeId) {
+        return logs.computeIfAbsent(showTimeId, id -> new SeatDeltaLog(DELTA_HISTORY, evictedVersions.get() + 1));
+    }
+
+    private String eventId(long version) {
+        return bootId + "-" + version;
+    }
+
+    // -1 (forces a snapshot) unless the id was issued by this process
+    private long parseVersion(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(bootId + "-")) return -1;
+        try {
+            return Long.parseLong(lastEventId.substring(bootId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // One connection: events wait in its own queue, and at most one writer drains it at a time.
+    // Once a drain has started only that writer calls the emitter, closing it when it's done.
+    private final class Subscriber {
+        private final Long showTimeId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // When the send in progress started (0 when idle), and whether it was declared stalled
+        private long sendingSince;
+        private boolean stalled;
+
+        Subscriber(Long showTimeId, SseEmitter emitter) {
+            this.showTimeId = showTimeId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) return;
+                if (pending.size() < MAX_PENDING) {
+                    pending.add(event);
+                    if (!draining) {
+                        draining = true;
+                        writers.execute(this::drain);
+                    }
+                    return;
+                }
+            }
+            // Fell behind: let it reconnect and catch up from the log rather than buffer more
+            close();
+        }
+
+        void close() {
+            boolean idle;
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+                pending.clear();
+                idle = !draining;
+            }
+            remove(this);
+            // A draining writer may be blocked in send holding the emitter's lock; it completes it itself
+            if (idle) emitter.complete();
+        }
+
+        void closeIfStalled(long cutoff) {
+            synchronized (this) {
+                if (sendingSince == 0 || sendingSince > cutoff || stalled) return;
+                stalled = true;
+            }
+            adjustStalledWriters(1);
+            close();
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = closed ? null : pending.poll();
+                    if (event == null) {
+                        draining = false;
+                        if (!closed) return;
+                    } else {
+                        sendingSince = System.currentTimeMillis();
+                    }
+                }
+                if (event == null) {
+                    emitter.complete();
+                    return;
+                }
+
+                sending.add(this);
+                Exception failure = null;
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    failure = e;
+                }
+                sending.remove(this);
+                boolean wasStalled;
+                synchronized (this) {
+                    sendingSince = 0;
+                    wasStalled = stalled;
+                    stalled = false;
+                    if (failure != null) {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                }
+                if (wasStalled) adjustStalledWriters(-1);
+                if (failure != null) {
+                    remove(this);
+                    emitter.completeWithError(failure);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.inventory.HiLoSequence;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.TicketSequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * General-admission ticket numbers (GEN-n), unique per event.
+ *
+ * Each event has a row in ticket_sequences; a server reserves {@link #BLOCK_SIZE} numbers from
+ * it in a short transaction of its own and hands them out from memory with a
+ * {@link HiLoSequence}, so most bookings get their numbers without touching the database.
+ * Numbers are never reused (a rolled-back booking or a restart leaves a gap). The first time
+ * an event is seen its sequence starts after the highest GEN number already booked.
+ *
+ * Call it before opening the booking's own transaction: a refill needs a connection of its own,
+ * and waiting for one while holding another can drain the pool under load.
+ */
+@Service
+public class TicketSequenceService {
+
+    public static final int BLOCK_SIZE = 100;
+
+    private static final String PREFIX = "GEN-";
+
+    @Autowired
+    private TicketSequenceRepository ticketSequenceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Blocks are committed on their own, whatever happens to the booking that asked for one
+    private TransactionTemplate blockTransaction;
+
+    private final ConcurrentHashMap<Long, HiLoSequence> sequences = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initTransaction() {
+        blockTransaction = new TransactionTemplate(transactionManager);
+        blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * First of {@code count} consecutive ticket numbers for the event.
+     */
+    public long nextTickets(Long eventId, int count) {
+        HiLoSequence sequence = sequences.get(eventId);
+        if (sequence == null) {
+            sequence = sequences.computeIfAbsent(eventId,
+                    id -> new HiLoSequence(BLOCK_SIZE, size -> reserveBlock(id, size)));
+        }
+        return sequence.next(count);
+    }
+
+    /**
+     * "GEN-41,GEN-42,GEN-43" for {@code count} numbers from {@code first}, built in one
+     * pre-sized buffer.
+     */
+    public static String formatTickets(long first, int count) {
+        int digits = Long.toString(first + count - 1).length();
+        StringBuilder ids = new StringBuilder(count * (PREFIX.length() + digits + 1));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) ids.append(',');
+            ids.append(PREFIX).append(first + i);
+        }
+        return ids.toString();
+    }
+
+    public String nextTicketIds(Long eventId, int count) {
+        return formatTickets(nextTickets(eventId, count), count);
+    }
+
+    // Deleted events: drop the block held in memory
+    public void evict(Long eventId) {
+        sequences.remove(eventId);
+    }
+
+    private long reserveBlock(Long eventId, int size) {
+        Long end = blockTransaction.execute(status -> {
+            if (ticketSequenceRepository.advance(eventId, size) == 0) {
+                ticketSequenceRepository.insertIfAbsent(eventId, highestIssued(eventId) + 1);
+                ticketSequenceRepository.advance(eventId, size);
+            }
+            return ticketSequenceRepository.findNextValue(eventId);
+        });
+        return end - size;
+    }
+
+    // Highest GEN number in the event's bookings, from before the sequence existed
+    private long highestIssued(Long eventId) {
+        long highest = 0;
+        for (String seats : bookingRepository.findGeneralAdmissionSeatsByEventId(eventId)) {
+            for (String seat : seats.split(",")) {
+                String id = seat.trim();
+                if (!id.startsWith(PREFIX)) continue;
+                try {
+                    highest = Math.max(highest, Long.parseLong(id.substring(PREFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,206 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.dto.QueueStatus;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room in front of booking for events with Event.waitingRoom set.
+ *
+ * Joining hands out a signed token carrying the event, the room's epoch, a sequence number and
+ * a tag of the user's email. Every second {@link #admitNext()} moves each room's "admitted up
+ * to" mark forward by the configured rate, so a token is admitted once its number is at or
+ * below that mark. Positions and admission checks are arithmetic on the token; the only state
+ * kept per user is the set of admitted tokens already spent on a booking, and none of it
+ * touches the database.
+ *
+ * Sequence numbers restart with the room (after a restart, or when the flag is turned off and
+ * on), so every room gets a random epoch and tokens from an earlier one are rejected.
+ */
+@Service
+public class WaitingRoomService {
+
+    private static final long TOKEN_TTL_MILLIS = 2 * 60 * 60 * 1000L;
+    private static final int SIGNATURE_BYTES = 16;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Value("${eventmate.waiting-room.admit-per-second:50}")
+    private int admitPerSecond;
+
+    // Tokens survive a restart only if a secret is configured
+    @Value("${eventmate.waiting-room.secret:}")
+    private String secret;
+
+    private final SecureRandom random = new SecureRandom();
+    private byte[] key;
+
+    private final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initKey() {
+        if (secret != null && !secret.isBlank()) {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            key = new byte[32];
+            random.nextBytes(key);
+        }
+    }
+
+    // Loads the flagged events; called once on startup
+    public void loadRooms() {
+        for (Long eventId : eventRepository.findWaitingRoomEventIds()) {
+            rooms.computeIfAbsent(eventId, id -> new Room(random.nextLong()));
+        }
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return eventId != null && rooms.containsKey(eventId);
+    }
+
+    // Keeps the in-memory flag in step with Event.waitingRoom
+    public void setEnabled(Long eventId, boolean enabled) {
+        if (enabled) {
+            rooms.computeIfAbsent(eventId, id -> new Room(random.nextLong()));
+        } else {
+            rooms.remove(eventId);
+        }
+    }
+
+    public QueueStatus join(Long eventId, String userEmail) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return new QueueStatus(null, 0, true, 0);
+        }
+        long seq = room.issued.incrementAndGet();
+        String token = sign(eventId + ":" + room.epoch + ":" + seq + ":" + System.currentTimeMillis() + ":" + userTag(userEmail));
+        return status(room, seq, token);
+    }
+
+    public QueueStatus status(String token) {
+        Ticket ticket = verify(token);
+        if (ticket == null) throw new RuntimeException("Invalid or expired queue token.");
+        Room room = rooms.get(ticket.eventId());
+        if (room == null) return new QueueStatus(token, 0, true, 0);
+        if (ticket.epoch() != room.epoch) throw new RuntimeException("Invalid or expired queue token.");
+        return status(room, ticket.seq(), token);
+    }
+
+    /**
+     * True if booking this event needs no queue, or the token is valid for this room, belongs to
+     * this user and this event, has been admitted and hasn't been used yet. A true result spends
+     * the token; {@link #release} gives it back if the booking then fails.
+     */
+    public boolean claim(Long eventId, String token, String userEmail) {
+        Room room = eventId != null ? rooms.get(eventId) : null;
+        if (room == null) return true;
+        Ticket ticket = verify(token);
+        return ticket != null
+                && ticket.eventId() == eventId
+                && ticket.epoch() == room.epoch
+                && ticket.userTag().equals(userTag(userEmail))
+                && ticket.seq() <= room.admitted
+                && room.used.putIfAbsent(ticket.seq(), ticket.issuedAt() + TOKEN_TTL_MILLIS) == null;
+    }
+
+    // Makes a claimed token usable again, for a booking attempt that didn't go through
+    public void release(Long eventId, String token) {
+        Room room = eventId != null ? rooms.get(eventId) : null;
+        Ticket ticket = verify(token);
+        if (room != null && ticket != null && ticket.epoch() == room.epoch) {
+            room.used.remove(ticket.seq());
+        }
+    }
+
+    // One scheduler tick: admit the next batch in every room
+    public void admitNext() {
+        long now = System.currentTimeMillis();
+        for (Room room : rooms.values()) {
+            // A spent token that has expired can't verify any more, so it needn't be remembered
+            room.used.values().removeIf(expiresAt -> expiresAt < now);
+            long issued = room.issued.get();
+            if (room.admitted < issued) {
+                room.admitted = Math.min(issued, room.admitted + admitPerSecond);
+            }
+        }
+    }
+
+    private QueueStatus status(Room room, long seq, String token) {
+        long position = Math.max(0, seq - room.admitted);
+        long eta = (position + admitPerSecond - 1) / Math.max(1, admitPerSecond);
+        return new QueueStatus(token, position, position == 0, eta);
+    }
+
+    private String sign(String payload) {
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(body) + "." + encoder.encodeToString(mac(body));
+    }
+
+    // Null unless the signature matches and the token hasn't expired
+    private Ticket verify(String token) {
+        if (token == null) return null;
+        int dot = token.indexOf('.');
+        if (dot <= 0) return null;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] body = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, mac(body))) return null;
+
+            String[] parts = new String(body, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 5) return null;
+            long issuedAt = Long.parseLong(parts[3]);
+            if (System.currentTimeMillis() - issuedAt > TOKEN_TTL_MILLIS) return null;
+            return new Ticket(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]), issuedAt, parts[4]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Binds a token to its user without putting the email in it
+    private String userTag(String userEmail) {
+        byte[] tag = mac(("user:" + userEmail).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(tag, 9));
+    }
+
+    private byte[] mac(byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return Arrays.copyOf(mac.doFinal(data), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static class Room {
+        private final long epoch;
+        private final AtomicLong issued = new AtomicLong();
+        private volatile long admitted;
+        // Sequence numbers of tokens spent on a booking -> when the token expires
+        private final ConcurrentHashMap<Long, Long> used = new ConcurrentHashMap<>();
+
+        Room(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private record Ticket(long eventId, long epoch, long seq, long issuedAt, String userTag) {
+    }
+}
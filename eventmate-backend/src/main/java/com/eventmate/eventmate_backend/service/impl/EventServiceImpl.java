@@ -1,15 +1,25 @@
 package com.eventmate.eventmate_backend.service.impl;
 
+import com.eventmate.eventmate_backend.dto.CatalogPage;
 import com.eventmate.eventmate_backend.dto.EventRequest;
+import com.eventmate.eventmate_backend.dto.EventSummary;
 import com.eventmate.eventmate_backend.model.Event;
 import com.eventmate.eventmate_backend.model.User;
 import com.eventmate.eventmate_backend.repository.EventRepository;
 import com.eventmate.eventmate_backend.repository.UserRepository;
+import com.eventmate.eventmate_backend.service.EventIndexUpdater;
+import com.eventmate.eventmate_backend.service.EventSearchService;
 import com.eventmate.eventmate_backend.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder; 
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,12 +27,20 @@ import java.util.stream.Collectors;
 @Service
 public class EventServiceImpl implements EventService {
 
+    public static final int MAX_CATALOG_PAGE = 100;
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    private EventIndexUpdater eventIndexUpdater;
+
     @Override
     public Event createEvent(EventRequest request, String userEmail) {
         User organizer = userRepository.findByEmail(userEmail)
@@ -80,7 +98,9 @@ public class EventServiceImpl implements EventService {
         }
         
         event.setOrganizer(organizer);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventIndexUpdater.eventSaved(saved);
+        return saved;
     }
 
     @Override
@@ -112,11 +132,12 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.deleteById(id);
+        eventIndexUpdater.eventDeleted(id);
     }
 
     @Override
     public List<Event> searchEvents(String keyword) {
-        return eventRepository.searchEvents(keyword);
+        return eventSearchService.search(keyword);
     }
 
     @Override
@@ -159,7 +180,9 @@ public class EventServiceImpl implements EventService {
         existingEvent.setLocation(request.getLocation());
         existingEvent.setImageUrl(request.getImageUrl());
         
-        return eventRepository.save(existingEvent);
+        Event saved = eventRepository.save(existingEvent);
+        eventIndexUpdater.eventSaved(saved);
+        return saved;
     }
 
     @Override
@@ -181,4 +204,66 @@ public class EventServiceImpl implements EventService {
         Collections.shuffle(recommendations);
         return recommendations.stream().limit(4).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // ✅ NEW: Catalog pages of slim summaries. Dated events first (date, id), then undated
+    // ones such as movies (id); the cursor remembers where the previous page stopped.
+    @Override
+    public CatalogPage getCatalog(String category, String eventType, LocalDate from, LocalDate to, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CATALOG_PAGE));
+        String categoryFilter = category != null && !category.isBlank() ? category.trim() : null;
+        Event.EventType typeFilter = null;
+        if (eventType != null && !eventType.isBlank()) {
+            try {
+                typeFilter = Event.EventType.valueOf(eventType.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown event type: " + eventType);
+            }
+        }
+
+        // Decode "d:<date>:<id>" (inside the dated part) or "u:<id>" (inside the undated part)
+        LocalDate afterDate = null;
+        long afterId = 0;
+        boolean undatedPart = false;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                if (parts[0].equals("d") && parts.length == 3) {
+                    afterDate = LocalDate.parse(parts[1]);
+                    afterId = Long.parseLong(parts[2]);
+                } else if (parts[0].equals("u") && parts.length == 2) {
+                    undatedPart = true;
+                    afterId = Long.parseLong(parts[1]);
+                } else {
+                    throw new IllegalArgumentException(cursor);
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new RuntimeException("Invalid cursor.");
+            }
+        }
+
+        // One extra row tells us whether another page exists
+        List<EventSummary> events = new ArrayList<>(limit + 1);
+        if (!undatedPart) {
+            events.addAll(eventRepository.findDatedCatalogPage(categoryFilter, typeFilter, from, to,
+                    afterDate, afterId, PageRequest.of(0, limit + 1)));
+            afterId = 0;
+        }
+        // Undated events can't match a date range
+        if (events.size() <= limit && from == null && to == null) {
+            events.addAll(eventRepository.findUndatedCatalogPage(categoryFilter, typeFilter, afterId,
+                    PageRequest.of(0, limit + 1 - events.size())));
+        }
+
+        boolean hasMore = events.size() > limit;
+        if (hasMore) {
+            events = events.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            EventSummary last = events.get(events.size() - 1);
+            String position = last.getDate() != null ? "d:" + last.getDate() + ":" + last.getId() : "u:" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CatalogPage(events, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency of {@link SeatMap#findBestBlock} on a 100 x 100 hall as it fills up: each step finds
+ * and claims a block of 2-6 seats, then the search time is reported per fill band.
+ *
+ * Not a unit test; run it directly, e.g.
+ * {@code java -cp target/classes:target/test-classes com.eventmate.eventmate_backend.inventory.BestBlockBenchmark}
+ */
+public class BestBlockBenchmark {
+
+    private static final int ROWS = 100;
+    private static final int COLS = 100;
+
+    public static void main(String[] args) {
+        fill(false); // warm-up
+        fill(true);
+    }
+
+    private static void fill(boolean report) {
+        SeatMap map = new SeatMap(ROWS, COLS, true);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int claimed = 0;
+        int band = 0;
+        long searches = 0;
+        long worstNanos = 0;
+        long totalNanos = 0;
+
+        while (true) {
+            int count = 2 + random.nextInt(5);
+            long started = System.nanoTime();
+            int start = map.findBestBlock(count, null);
+            long nanos = System.nanoTime() - started;
+            if (start < 0) break;
+
+            int[] seats = new int[count];
+            for (int i = 0; i < count; i++) {
+                seats[i] = start + i;
+            }
+            map.tryTransition(seats, SeatMap.AVAILABLE, SeatMap.LOCKED);
+            claimed += count;
+
+            // Free a random seat now and then so the hall fragments like a real sale
+            if (random.nextInt(4) == 0) {
+                map.compareAndSet(random.nextInt(ROWS * COLS), SeatMap.LOCKED, SeatMap.AVAILABLE);
+            }
+
+            searches++;
+            totalNanos += nanos;
+            worstNanos = Math.max(worstNanos, nanos);
+            int fill = claimed * 10 / (ROWS * COLS);
+            if (fill != band) {
+                if (report) {
+                    System.out.printf("%3d%% full: %,8d searches, avg %6.1f us, worst %7.1f us%n",
+                            band * 10, searches, totalNanos / 1000.0 / searches, worstNanos / 1000.0);
+                }
+                band = fill;
+                searches = 0;
+                worstNanos = 0;
+                totalNanos = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+/**
+ * Tickets granted per second for one event: {@link ShardedCounter} (hot-event mode) against a
+ * single counter behind one lock, which models the conditional UPDATE on the events row.
+ *
+ * The single-row model is generous: the real path also holds the row lock for the rest of the
+ * booking transaction, so its ceiling in production is far lower than measured here. Each run
+ * also checks that no more than the capacity was sold. Run it on a multi-core machine: on a
+ * single core there is no contention to remove and both paths measure about the same.
+ *
+ * Not a unit test; run it directly, e.g.
+ * {@code java -cp target/classes:target/test-classes com.eventmate.eventmate_backend.inventory.CapacityBenchmark}
+ */
+public class CapacityBenchmark {
+
+    private static final long CAPACITY = 1_000_000_000L;
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        run("warm-up", 1, 500, singleRow());
+        run("warm-up", 1, 500, sharded());
+        for (int threads : new int[]{1, 8, 32}) {
+            run("single row", threads, RUN_MILLIS, singleRow());
+            run("sharded   ", threads, RUN_MILLIS, sharded());
+        }
+    }
+
+    private static IntPredicate singleRow() {
+        long[] available = {CAPACITY};
+        return count -> {
+            synchronized (available) {
+                if (available[0] < count) return false;
+                available[0] -= count;
+                return true;
+            }
+        };
+    }
+
+    private static IntPredicate sharded() {
+        ShardedCounter counter = new ShardedCounter(Runtime.getRuntime().availableProcessors() * 2, CAPACITY);
+        return counter::tryAcquire;
+    }
+
+    private static void run(String name, int threads, long millis, IntPredicate reserve) throws InterruptedException {
+        LongAdder sold = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (System.nanoTime() < deadline[0]) {
+                    if (reserve.test(1)) {
+                        sold.increment();
+                    } else {
+                        return; // sold out
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        deadline[0] = System.nanoTime() + millis * 1_000_000L;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (sold.sum() > CAPACITY) {
+            throw new IllegalStateException(name + " oversold: " + sold.sum());
+        }
+        System.out.printf("%s %2d threads: %,14.0f tickets/sec%n", name, threads, sold.sum() / (millis / 1000.0));
+    }
+}
@@ -0,0 +1,149 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FreeRunIndexTest {
+
+    @Test
+    void findsRunsInOneRow() {
+        boolean[] free = {true, false, true, true, true, false, true, true, false, true};
+        FreeRunIndex index = new FreeRunIndex(1, free.length);
+        index.setRow(0, c -> free[c]);
+
+        assertEquals(3, index.longestRun(0));
+        assertEquals(2, index.leftmostFit(0, 3, 0));
+        assertEquals(6, index.leftmostFit(0, 2, 4));
+        assertEquals(-1, index.leftmostFit(0, 4, 0));
+        assertEquals(3, index.rightmostFit(0, 2, 5));
+        assertEquals(6, index.rightmostFit(0, 2, 9));
+        assertEquals(-1, index.rightmostFit(0, 3, 1));
+    }
+
+    @Test
+    void bestBlockPrefersTheCentreOfTheHall() {
+        FreeRunIndex index = new FreeRunIndex(5, 10);
+        for (int row = 0; row < 5; row++) {
+            index.setRow(row, c -> true);
+        }
+        // Middle row, block of 4 centred on the 10 seats: columns 3..6
+        assertEquals(2 * 10 + 3, index.bestBlock(4, null));
+
+        index.setRow(2, c -> c < 2 || c > 7);
+        int best = index.bestBlock(4, null);
+        assertTrue(best / 10 == 1 || best / 10 == 3, "next-nearest rows");
+        assertEquals(3, best % 10);
+
+        boolean[] onlyBackRow = {false, false, false, false, true};
+        assertEquals(4 * 10 + 3, index.bestBlock(4, onlyBackRow));
+        assertEquals(-1, index.bestBlock(11, null));
+    }
+
+    @Test
+    void seatMapSearchSeesClaimsMadeSinceTheLastSearch() {
+        SeatMap map = new SeatMap(3, 8, true);
+        int centre = map.findBestBlock(2, null);
+        assertEquals(8 + 3, centre);
+
+        assertEquals(-1, map.tryTransition(new int[]{centre, centre + 1}, SeatMap.AVAILABLE, SeatMap.LOCKED));
+        int next = map.findBestBlock(2, null);
+        assertTrue(next != centre && next != centre + 1 && next + 1 != centre, "claimed seats are not offered again");
+        assertEquals(SeatMap.AVAILABLE, map.get(next));
+        assertEquals(SeatMap.AVAILABLE, map.get(next + 1));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomHalls() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            int rows = 1 + random.nextInt(12);
+            int cols = 1 + random.nextInt(45);
+            double density = random.nextDouble();
+            boolean[][] free = new boolean[rows][cols];
+            FreeRunIndex index = new FreeRunIndex(rows, cols);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    free[r][c] = random.nextDouble() < density;
+                }
+                boolean[] row = free[r];
+                index.setRow(r, c -> row[c]);
+            }
+
+            for (int r = 0; r < rows; r++) {
+                assertEquals(longestRun(free[r]), index.longestRun(r));
+                for (int count = 1; count <= cols; count++) {
+                    int from = random.nextInt(cols);
+                    assertEquals(leftmostFit(free[r], count, from), index.leftmostFit(r, count, from),
+                            "leftmostFit round " + round);
+                    assertEquals(rightmostFit(free[r], count, from), index.rightmostFit(r, count, from),
+                            "rightmostFit round " + round);
+                }
+            }
+
+            int count = 1 + random.nextInt(cols);
+            int best = index.bestBlock(count, null);
+            long expected = bestScore(free, count);
+            if (expected == Long.MAX_VALUE) {
+                assertEquals(-1, best, "round " + round);
+            } else {
+                int row = best / cols;
+                int start = best % cols;
+                assertTrue(fits(free[row], start, count), "round " + round + ": block is free");
+                assertEquals(expected, score(rows, cols, row, start, count), "round " + round + ": nearest the centre");
+            }
+        }
+    }
+
+    private static int longestRun(boolean[] free) {
+        int best = 0;
+        int run = 0;
+        for (boolean seat : free) {
+            run = seat ? run + 1 : 0;
+            best = Math.max(best, run);
+        }
+        return best;
+    }
+
+    private static int leftmostFit(boolean[] free, int count, int from) {
+        for (int start = from; start + count <= free.length; start++) {
+            if (fits(free, start, count)) return start;
+        }
+        return -1;
+    }
+
+    private static int rightmostFit(boolean[] free, int count, int to) {
+        for (int start = Math.min(to, free.length - count); start >= 0; start--) {
+            if (fits(free, start, count)) return start;
+        }
+        return -1;
+    }
+
+    private static long bestScore(boolean[][] free, int count) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < free.length; r++) {
+            for (int start = 0; start + count <= free[r].length; start++) {
+                if (fits(free[r], start, count)) {
+                    best = Math.min(best, score(free.length, free[r].length, r, start, count));
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long score(int rows, int cols, int row, int start, int count) {
+        long dx = 2L * start + count - cols;
+        long dy = 2L * row - (rows - 1);
+        return dx * dx + dy * dy;
+    }
+
+    private static boolean fits(boolean[] free, int start, int count) {
+        for (int c = start; c < start + count; c++) {
+            if (!free[c]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HiLoSequenceTest {
+
+    @Test
+    void rangesComeFromOneBlockUntilItRunsOut() {
+        AtomicInteger reservations = new AtomicInteger();
+        HiLoSequence sequence = new HiLoSequence(10, size -> {
+            reservations.incrementAndGet();
+            return 100;
+        });
+
+        assertEquals(100, sequence.next(3));
+        assertEquals(103, sequence.next(1));
+        assertEquals(104, sequence.next(6));
+        assertEquals(1, reservations.get(), "one round trip for the whole block");
+    }
+
+    @Test
+    void tailTooShortForARequestIsSkipped() {
+        AtomicLong nextBlock = new AtomicLong(1);
+        HiLoSequence sequence = new HiLoSequence(10, size -> nextBlock.getAndAdd(size));
+
+        assertEquals(1, sequence.next(8));
+        assertEquals(11, sequence.next(5), "9 and 10 are left, so the range starts a new block");
+        assertEquals(16, sequence.next(2));
+    }
+
+    @Test
+    void countMustFitInABlock() {
+        HiLoSequence sequence = new HiLoSequence(10, size -> 1);
+        assertThrows(IllegalArgumentException.class, () -> sequence.next(0));
+        assertThrows(IllegalArgumentException.class, () -> sequence.next(11));
+        assertEquals(1, sequence.next(10));
+    }
+
+    @Test
+    void concurrentRangesNeverOverlap() throws InterruptedException {
+        int blockSize = 50;
+        AtomicLong nextBlock = new AtomicLong(1);
+        AtomicInteger reservations = new AtomicInteger();
+        HiLoSequence sequence = new HiLoSequence(blockSize, size -> {
+            reservations.incrementAndGet();
+            return nextBlock.getAndAdd(size);
+        });
+
+        List<long[]> ranges = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                List<long[]> mine = new ArrayList<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5000; i++) {
+                    int count = 1 + random.nextInt(6);
+                    mine.add(new long[]{sequence.next(count), count});
+                }
+                synchronized (ranges) {
+                    ranges.addAll(mine);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        BitSet taken = new BitSet();
+        for (long[] range : ranges) {
+            long first = range[0];
+            int count = (int) range[1];
+            assertEquals((first - 1) / blockSize, (first + count - 2) / blockSize, "range stays inside one block");
+            for (int n = (int) first; n < first + count; n++) {
+                assertFalse(taken.get(n), "number " + n + " handed out twice");
+                taken.set(n);
+            }
+        }
+        // Skipped tails cost at most 5 numbers per block, so a racing refill didn't waste whole blocks
+        assertTrue(taken.cardinality() >= reservations.get() * (long) (blockSize - 5) - blockSize);
+    }
+}
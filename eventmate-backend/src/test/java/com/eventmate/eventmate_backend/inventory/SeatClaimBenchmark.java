@@ -0,0 +1,74 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark for {@link SeatMap#tryTransition}: every thread races for 2-4 adjacent
+ * seats in the same three "prime" rows of one showtime, and releases them again on a win.
+ *
+ * Not a unit test; run it directly, e.g.
+ * {@code java -cp target/classes:target/test-classes com.eventmate.eventmate_backend.inventory.SeatClaimBenchmark}
+ */
+public class SeatClaimBenchmark {
+
+    private static final int ROWS = 40;
+    private static final int COLS = 60;
+    private static final int HOT_ROWS = 3;
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        run(1, 500); // warm-up
+        for (int threads : new int[]{1, 8, 32}) {
+            run(threads, RUN_MILLIS);
+        }
+    }
+
+    private static void run(int threads, long millis) throws InterruptedException {
+        SeatMap map = new SeatMap(ROWS, COLS, true);
+        LongAdder attempts = new LongAdder();
+        LongAdder wins = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (System.nanoTime() < deadline[0]) {
+                    int count = 2 + random.nextInt(3);
+                    int row = random.nextInt(HOT_ROWS);
+                    int col = random.nextInt(COLS - count);
+                    int[] seats = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        seats[i] = row * COLS + col + i;
+                    }
+
+                    attempts.increment();
+                    if (map.tryTransition(seats, SeatMap.AVAILABLE, SeatMap.LOCKED) < 0) {
+                        wins.increment();
+                        map.tryTransition(seats, SeatMap.LOCKED, SeatMap.AVAILABLE);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        deadline[0] = System.nanoTime() + millis * 1_000_000L;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        double seconds = millis / 1000.0;
+        System.out.printf("%2d threads: %,12.0f claims/sec (%,12.0f attempts/sec, %.1f%% won)%n",
+                threads, wins.sum() / seconds, attempts.sum() / seconds,
+                100.0 * wins.sum() / Math.max(1, attempts.sum()));
+    }
+}
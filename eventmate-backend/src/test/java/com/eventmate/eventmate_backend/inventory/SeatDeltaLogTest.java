@@ -0,0 +1,62 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SeatDeltaLogTest {
+
+    @Test
+    void appendNumbersEachSeatAndReturnsTheLastVersion() {
+        SeatDeltaLog log = new SeatDeltaLog(16);
+        assertEquals(0, log.latestVersion());
+        assertEquals(3, log.append(new int[]{5, 6, 7}, SeatMap.LOCKED));
+        assertEquals(4, log.append(new int[]{5}, SeatMap.BOOKED));
+        assertEquals(4, log.latestVersion());
+    }
+
+    @Test
+    void sinceReturnsExactlyTheMissedChangesOldestFirst() {
+        SeatDeltaLog log = new SeatDeltaLog(16);
+        log.append(new int[]{5, 6}, SeatMap.LOCKED);
+        log.append(new int[]{5}, SeatMap.BOOKED);
+
+        int[] missed = log.since(1);
+        assertEquals(2, missed.length);
+        assertEquals(6, SeatDeltaLog.seatOf(missed[0]));
+        assertEquals(SeatMap.LOCKED, SeatDeltaLog.stateOf(missed[0]));
+        assertEquals(5, SeatDeltaLog.seatOf(missed[1]));
+        assertEquals(SeatMap.BOOKED, SeatDeltaLog.stateOf(missed[1]));
+
+        assertArrayEquals(new int[0], log.since(3), "up to date");
+    }
+
+    @Test
+    void sinceNeedsSnapshotForUnknownOrOverwrittenVersions() {
+        SeatDeltaLog log = new SeatDeltaLog(4);
+        log.append(new int[]{1, 2, 3, 4, 5, 6}, SeatMap.LOCKED);
+
+        assertNull(log.since(1), "versions 2..6 no longer all fit in the ring");
+        assertEquals(4, log.since(2).length, "exactly one ring's worth is still there");
+        assertNull(log.since(7), "a version from the future");
+        assertNull(log.since(-1));
+    }
+
+    @Test
+    void startVersionIsAFloor() {
+        SeatDeltaLog log = new SeatDeltaLog(16, 100);
+        assertEquals(100, log.latestVersion());
+        assertNull(log.since(99));
+        assertEquals(101, log.append(new int[]{3}, SeatMap.BOOKED));
+        assertEquals(1, log.since(100).length);
+    }
+
+    @Test
+    void packKeepsSeatAndStateApart() {
+        int packed = SeatDeltaLog.pack(123_456, SeatMap.ABSENT);
+        assertEquals(123_456, SeatDeltaLog.seatOf(packed));
+        assertEquals(SeatMap.ABSENT, SeatDeltaLog.stateOf(packed));
+    }
+}
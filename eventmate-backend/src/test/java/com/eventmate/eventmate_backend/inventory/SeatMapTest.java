@@ -0,0 +1,130 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTest {
+
+    @Test
+    void sparseMapStartsAvailableAndDenseMapStartsAbsent() {
+        assertEquals(SeatMap.AVAILABLE, new SeatMap(3, 4, true).get(11));
+        assertEquals(SeatMap.ABSENT, new SeatMap(3, 4, false).get(11));
+    }
+
+    @Test
+    void labelsMapToIndicesInBothFormats() {
+        SeatMap map = new SeatMap(10, 20, true);
+        assertEquals(24, map.indexOf("B5"));
+        assertEquals(24, map.indexOf("2-5"));
+        assertEquals(24, map.indexOf("b-5"));
+        assertEquals("B5", map.labelOf(24));
+        assertEquals(-1, map.indexOf("K1"), "row outside the grid");
+        assertEquals(-1, map.indexOf("A21"), "column outside the grid");
+        assertEquals(-1, map.indexOf("GEN-5"));
+    }
+
+    @Test
+    void setChangesOnlyThatSeatAcrossWordBoundaries() {
+        SeatMap map = new SeatMap(2, 40, true);
+        map.set(31, SeatMap.LOCKED);
+        map.set(32, SeatMap.BOOKED);
+
+        assertEquals(SeatMap.AVAILABLE, map.get(30));
+        assertEquals(SeatMap.LOCKED, map.get(31));
+        assertEquals(SeatMap.BOOKED, map.get(32));
+        assertEquals(SeatMap.AVAILABLE, map.get(33));
+    }
+
+    @Test
+    void firstNotInReportsThePositionOfTheFirstMismatch() {
+        SeatMap map = new SeatMap(2, 2, true);
+        map.set(3, SeatMap.LOCKED);
+        assertEquals(-1, map.firstNotIn(new int[]{3}, SeatMap.LOCKED));
+        assertEquals(1, map.firstNotIn(new int[]{3, 2}, SeatMap.LOCKED));
+    }
+
+    @Test
+    void compareAndSetOnlyMovesFromExpectedState() {
+        SeatMap map = new SeatMap(2, 2, true);
+        assertTrue(map.compareAndSet(3, SeatMap.AVAILABLE, SeatMap.LOCKED));
+        assertFalse(map.compareAndSet(3, SeatMap.AVAILABLE, SeatMap.BOOKED));
+        assertEquals(SeatMap.LOCKED, map.get(3));
+    }
+
+    @Test
+    void snapshotCopiesEveryStateInIndexOrder() {
+        SeatMap map = new SeatMap(1, 3, true);
+        map.set(2, SeatMap.BOOKED);
+        assertArrayEquals(new int[]{SeatMap.AVAILABLE, SeatMap.AVAILABLE, SeatMap.BOOKED}, map.snapshot());
+    }
+
+    @Test
+    void transitionMovesEverySeatAcrossWords() {
+        SeatMap map = new SeatMap(4, 40, true);
+        int[] seats = {1, 31, 32, 100, 159}; // spans four 32-seat words
+
+        assertEquals(-1, map.tryTransition(seats, SeatMap.AVAILABLE, SeatMap.LOCKED));
+        for (int seat : seats) {
+            assertEquals(SeatMap.LOCKED, map.get(seat));
+        }
+        assertEquals(SeatMap.AVAILABLE, map.get(0), "neighbours are untouched");
+        assertEquals(SeatMap.AVAILABLE, map.get(33));
+    }
+
+    @Test
+    void conflictInLaterWordRollsBackEarlierWords() {
+        SeatMap map = new SeatMap(4, 40, true);
+        map.set(100, SeatMap.BOOKED);
+        int[] seats = {159, 1, 100, 32}; // unsorted on purpose; 1 and 32 sort before the conflict
+
+        int conflict = map.tryTransition(seats, SeatMap.AVAILABLE, SeatMap.LOCKED);
+
+        assertEquals(2, conflict, "position of the seat that wasn't AVAILABLE");
+        assertEquals(SeatMap.AVAILABLE, map.get(1), "first word put back");
+        assertEquals(SeatMap.AVAILABLE, map.get(32), "second word put back");
+        assertEquals(SeatMap.AVAILABLE, map.get(159), "word after the conflict never touched");
+        assertEquals(SeatMap.BOOKED, map.get(100));
+    }
+
+    @Test
+    void concurrentOverlappingClaimsHaveOneWinnerPerSeat() throws InterruptedException {
+        SeatMap map = new SeatMap(1, 64, true);
+        int threads = 8;
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            // Every claim shares seats 30..33 (across a word boundary) with every other claim
+            int[] seats = {30, 31, 32, 33, 34 + t};
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (map.tryTransition(seats, SeatMap.AVAILABLE, SeatMap.LOCKED) == -1) {
+                    wins.incrementAndGet();
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1, wins.get());
+        int locked = 0;
+        for (int state : map.snapshot()) {
+            if (state == SeatMap.LOCKED) locked++;
+        }
+        assertEquals(5, locked, "losers left nothing behind");
+    }
+}
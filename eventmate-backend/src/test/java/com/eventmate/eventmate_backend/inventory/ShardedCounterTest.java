@@ -0,0 +1,83 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedCounterTest {
+
+    @Test
+    void takesOnlyWhatIsLeft() {
+        ShardedCounter counter = new ShardedCounter(4, 10);
+        assertEquals(10, counter.sum());
+        assertTrue(counter.tryAcquire(7));
+        assertFalse(counter.tryAcquire(4), "only 3 left");
+        assertEquals(3, counter.sum(), "a refused request takes nothing");
+        assertTrue(counter.tryAcquire(3));
+        assertEquals(0, counter.sum());
+    }
+
+    @Test
+    void requestLargerThanAnyShardIsGatheredFromSeveral() {
+        ShardedCounter counter = new ShardedCounter(8, 16); // 2 per shard
+        assertTrue(counter.tryAcquire(15));
+        assertEquals(1, counter.sum());
+    }
+
+    @Test
+    void negativeAddTakesWhatItCanAndNeverGoesBelowZero() {
+        ShardedCounter counter = new ShardedCounter(4, 5);
+        counter.add(-3);
+        assertEquals(2, counter.sum());
+        counter.add(-10);
+        assertEquals(0, counter.sum());
+        counter.add(6);
+        assertEquals(6, counter.sum());
+    }
+
+    @Test
+    void negativeInitialIsZero() {
+        assertEquals(0, new ShardedCounter(4, -5).sum());
+        assertTrue(new ShardedCounter(4, 0).tryAcquire(0));
+    }
+
+    @Test
+    void concurrentTakersNeverOversell() throws InterruptedException {
+        long initial = 10_000;
+        ShardedCounter counter = new ShardedCounter(8, initial);
+        AtomicLong sold = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] buyers = new Thread[16];
+        for (int t = 0; t < buyers.length; t++) {
+            buyers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2000; i++) {
+                    int n = 1 + random.nextInt(4);
+                    if (counter.tryAcquire(n)) sold.addAndGet(n);
+                    if (random.nextInt(10) == 0 && counter.tryAcquire(1)) {
+                        counter.add(1); // a cancellation
+                    }
+                }
+            });
+            buyers[t].start();
+        }
+        start.countDown();
+        for (Thread buyer : buyers) {
+            buyer.join();
+        }
+
+        assertTrue(sold.get() <= initial);
+        assertEquals(initial, sold.get() + counter.sum(), "every unit is either sold or still there");
+    }
+}
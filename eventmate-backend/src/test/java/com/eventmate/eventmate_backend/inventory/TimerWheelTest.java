@@ -0,0 +1,87 @@
+package com.eventmate.eventmate_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void keyFiresOnceItsDeadlineHasPassed() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        wheel.schedule(42, START + 2500);
+
+        assertEquals(0, wheel.advance(START + 2999).length, "deadline is rounded up to the next tick");
+        assertArrayEquals(new long[]{42}, wheel.advance(START + 3000));
+        assertEquals(0, wheel.advance(START + 10_000).length, "fires only once");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        wheel.schedule(1, START + 3000);
+        wheel.schedule(2, START + 11_000); // same slot, one revolution later
+
+        assertArrayEquals(new long[]{1}, wheel.advance(START + 3000));
+        assertEquals(0, wheel.advance(START + 10_000).length);
+        assertArrayEquals(new long[]{2}, wheel.advance(START + 11_000));
+    }
+
+    @Test
+    void cancelledKeyNeverFires() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        wheel.schedule(7, START + 1000);
+        assertTrue(wheel.cancel(7));
+        assertFalse(wheel.cancel(7));
+        assertEquals(0, wheel.advance(START + 5000).length);
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadline() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        wheel.schedule(7, START + 1000);
+        wheel.schedule(7, START + 4000);
+
+        assertEquals(0, wheel.advance(START + 3000).length, "old deadline is dropped");
+        assertArrayEquals(new long[]{7}, wheel.advance(START + 4000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        wheel.advance(START + 5000);
+        wheel.schedule(9, START);
+
+        assertArrayEquals(new long[]{9}, wheel.advance(START + 6000));
+    }
+
+    @Test
+    void longPauseStillFiresEverythingDue() {
+        TimerWheel wheel = new TimerWheel(1000, 8, START);
+        for (long key = 0; key < 20; key++) {
+            wheel.schedule(key, START + 1000 * (key + 1));
+        }
+
+        long[] fired = wheel.advance(START + 60_000);
+        Arrays.sort(fired);
+        assertEquals(20, fired.length);
+        for (int i = 0; i < fired.length; i++) {
+            assertEquals(i, fired[i]);
+        }
+    }
+
+    @Test
+    void wheelSizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(1000, 10, START));
+    }
+}
@@ -0,0 +1,177 @@
+package com.eventmate.eventmate_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetIndexTest {
+
+    private static final String[] FACETS = {"category", "city"};
+
+    @Test
+    void countsIgnoreTheFacetsOwnFilter() {
+        FacetIndex index = new FacetIndex(FACETS);
+        index.put(1, 10, new String[]{"Music", "Pune"});
+        index.put(2, 20, new String[]{"Music", "Mumbai"});
+        index.put(3, 30, new String[]{"Comedy", "Pune"});
+        index.put(4, 40, new String[]{"Comedy", null});
+
+        FacetIndex.Result result = index.query(Map.of("category", Set.of("Music")), 0, 10);
+        assertEquals(List.of(1L, 2L), result.docIds());
+        assertEquals(2, result.total());
+        assertEquals(Map.of("Comedy", 2, "Music", 2), result.counts().get("category"), "other categories still counted");
+        assertEquals(Map.of("Mumbai", 1, "Pune", 1), result.counts().get("city"), "cities within Music");
+
+        result = index.query(Map.of("category", Set.of("Music"), "city", Set.of("Pune")), 0, 10);
+        assertEquals(List.of(1L), result.docIds());
+        assertEquals(Map.of("Comedy", 1, "Music", 1), result.counts().get("category"), "categories within Pune");
+        assertEquals(Map.of("Mumbai", 1, "Pune", 1), result.counts().get("city"), "cities within Music");
+    }
+
+    @Test
+    void valuesOfOneFacetAreOredTogether() {
+        FacetIndex index = new FacetIndex(FACETS);
+        index.put(1, 1, new String[]{"Music", "Pune"});
+        index.put(2, 2, new String[]{"Comedy", "Pune"});
+        index.put(3, 3, new String[]{"Theatre", "Pune"});
+
+        FacetIndex.Result result = index.query(Map.of("category", Set.of("Music", "Theatre", "Unknown")), 0, 10);
+        assertEquals(List.of(1L, 3L), result.docIds());
+        assertEquals(3, index.query(Map.of("category", Set.of()), 0, 10).total(), "an empty selection accepts all");
+    }
+
+    @Test
+    void pagesComeInSortKeyThenIdOrder() {
+        FacetIndex index = new FacetIndex(FACETS);
+        index.put(5, 300, new String[]{"Music", null});
+        index.put(4, 100, new String[]{"Music", null});
+        index.put(9, 200, new String[]{"Music", null});
+        index.put(2, 200, new String[]{"Music", null});
+
+        assertEquals(List.of(4L, 2L, 9L, 5L), index.query(Map.of(), 0, 10).docIds());
+        assertEquals(List.of(2L, 9L), index.query(Map.of(), 1, 2).docIds());
+        assertTrue(index.query(Map.of(), 4, 2).docIds().isEmpty());
+        assertTrue(index.query(Map.of(), 0, 0).docIds().isEmpty());
+    }
+
+    @Test
+    void removedDocumentsAndTheirLastValuesDisappear() {
+        FacetIndex index = new FacetIndex(FACETS);
+        index.put(1, 1, new String[]{"Music", "Pune"});
+        index.put(2, 2, new String[]{"Comedy", "Pune"});
+        index.put(1, 1, new String[]{"Comedy", "Pune"});
+
+        Map<String, Integer> categories = index.query(Map.of(), 0, 10).counts().get("category");
+        assertEquals(Map.of("Comedy", 2), categories, "re-indexing moved the document and dropped Music");
+
+        index.remove(2);
+        index.remove(1);
+        FacetIndex.Result empty = index.query(Map.of(), 0, 10);
+        assertEquals(0, empty.total());
+        assertTrue(empty.counts().get("city").isEmpty());
+    }
+
+    @Test
+    void freedOrdinalsAreReused() throws ReflectiveOperationException {
+        FacetIndex index = new FacetIndex(FACETS);
+        for (long id = 0; id < 100; id++) {
+            index.put(id, id, new String[]{"Music", "Pune"});
+        }
+        // Churn far more documents than are ever live at once
+        for (long id = 100; id < 10_000; id++) {
+            index.remove(id - 100);
+            index.put(id, id, new String[]{id % 2 == 0 ? "Music" : "Comedy", "Pune"});
+        }
+        FacetIndex.Result result = index.query(Map.of("category", Set.of("Comedy")), 0, 3);
+        assertEquals(50, result.total());
+        assertEquals(List.of(9901L, 9903L, 9905L), result.docIds());
+
+        Field ordinals = FacetIndex.class.getDeclaredField("ordinals");
+        ordinals.setAccessible(true);
+        assertTrue((int) ordinals.get(index) <= 101, "bitmaps stay as wide as the live documents");
+    }
+
+    @Test
+    void matchesBruteForceOnRandomCatalogs() {
+        String[][] values = {{"Music", "Comedy", "Theatre", "Sports"}, {"Pune", "Mumbai", "Delhi"}};
+        Random random = new Random(17);
+        FacetIndex index = new FacetIndex(FACETS);
+        Map<Long, String[]> docs = new HashMap<>();
+        Map<Long, Long> sortKeys = new HashMap<>();
+
+        for (int step = 0; step < 2000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                docs.remove(id);
+                sortKeys.remove(id);
+            } else {
+                String[] doc = new String[FACETS.length];
+                for (int f = 0; f < FACETS.length; f++) {
+                    doc[f] = random.nextInt(6) == 0 ? null : values[f][random.nextInt(values[f].length)];
+                }
+                long sortKey = random.nextInt(50);
+                index.put(id, sortKey, doc);
+                docs.put(id, doc);
+                sortKeys.put(id, sortKey);
+            }
+
+            if (step % 20 == 0) {
+                Map<String, Set<String>> filters = new HashMap<>();
+                for (int f = 0; f < FACETS.length; f++) {
+                    if (random.nextBoolean()) {
+                        Set<String> accepted = new HashSet<>();
+                        for (int pick = 0; pick < 2; pick++) {
+                            accepted.add(values[f][random.nextInt(values[f].length)]);
+                        }
+                        filters.put(FACETS[f], accepted);
+                    }
+                }
+                int offset = random.nextInt(20);
+                int limit = 1 + random.nextInt(30);
+                FacetIndex.Result result = index.query(filters, offset, limit);
+
+                List<Long> matching = new ArrayList<>();
+                for (Long doc : docs.keySet()) {
+                    if (matches(docs.get(doc), filters, -1)) matching.add(doc);
+                }
+                matching.sort(Comparator.comparing((Long doc) -> sortKeys.get(doc)).thenComparing(doc -> doc));
+                assertEquals(matching.size(), result.total(), "step " + step);
+                assertEquals(matching.subList(Math.min(offset, matching.size()), Math.min(offset + limit, matching.size())),
+                        result.docIds(), "step " + step);
+
+                for (int f = 0; f < FACETS.length; f++) {
+                    Map<String, Integer> expected = new TreeMap<>();
+                    for (String[] doc : docs.values()) {
+                        if (doc[f] != null) expected.putIfAbsent(doc[f], 0);
+                        if (doc[f] != null && matches(doc, filters, f)) expected.merge(doc[f], 1, Integer::sum);
+                    }
+                    assertEquals(new LinkedHashMap<>(expected), result.counts().get(FACETS[f]), "step " + step + " " + FACETS[f]);
+                }
+            }
+        }
+    }
+
+    // Whether doc passes every filter except the one on facet `ignore`
+    private static boolean matches(String[] doc, Map<String, Set<String>> filters, int ignore) {
+        for (int f = 0; f < FACETS.length; f++) {
+            Set<String> accepted = filters.get(FACETS[f]);
+            if (f == ignore || accepted == null) continue;
+            if (doc[f] == null || !accepted.contains(doc[f])) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventmate.eventmate_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static final int[] WEIGHTS = {3, 1};
+
+    @Test
+    void titleMatchOutranksDescriptionMatch() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new String[]{"Sunday Brunch", "Live jazz while you eat"}, WEIGHTS);
+        index.put(2, new String[]{"Jazz Night", "An evening of music"}, WEIGHTS);
+        index.put(3, new String[]{"Stand-up Comedy", "Laughs all night"}, WEIGHTS);
+
+        assertEquals(List.of(2L, 1L), ids(index.search("jazz", 10)));
+    }
+
+    @Test
+    void queryAndDocumentAreStemmedAlike() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new String[]{"Rock concert", ""}, WEIGHTS);
+        index.put(2, new String[]{"Comedies in the park", ""}, WEIGHTS);
+
+        assertEquals(List.of(1L), ids(index.search("concerts ", 10)));
+        assertEquals(List.of(2L), ids(index.search("comedy ", 10)));
+        assertTrue(index.search("the ", 10).isEmpty(), "stop words find nothing");
+    }
+
+    @Test
+    void lastWordIsMatchedAsAPrefixWhileTyping() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new String[]{"Symphony orchestra", ""}, WEIGHTS);
+
+        assertEquals(List.of(1L), ids(index.search("orch", 10)));
+        assertTrue(index.search("orch ", 10).isEmpty(), "a finished word must match whole");
+    }
+
+    @Test
+    void reindexingReplacesOldContent() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new String[]{"Jazz Night", ""}, WEIGHTS);
+        index.put(1, new String[]{"Blues Night", ""}, WEIGHTS);
+
+        assertTrue(index.search("jazz ", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("blues ", 10)));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertTrue(index.search("blues ", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 20; id++) {
+            String description = "festival ".repeat((int) id);
+            index.put(id, new String[]{"Event " + id, description}, WEIGHTS);
+        }
+        List<InvertedIndex.Hit> hits = index.search("festival ", 3);
+        assertEquals(List.of(20L, 19L, 18L), ids(hits));
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+    }
+
+    @Test
+    void resultsSurviveCompaction() {
+        InvertedIndex index = new InvertedIndex();
+        for (int round = 0; round < 3; round++) {
+            for (long id = 0; id < 1500; id++) {
+                String word = id % 2 == 0 ? "even" : "odd";
+                index.put(id, new String[]{"Show " + word + " round" + round, ""}, WEIGHTS);
+            }
+        }
+        assertEquals(1500, index.size());
+        assertEquals(750, index.search("even ", 10_000).size());
+        assertEquals(1500, index.search("round2 ", 10_000).size());
+        assertTrue(index.search("round0 ", 10_000).isEmpty(), "old versions are gone");
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::docId).toList();
+    }
+}
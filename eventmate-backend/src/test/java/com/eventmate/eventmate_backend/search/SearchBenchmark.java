@@ -0,0 +1,174 @@
+package com.eventmate.eventmate_backend.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Query latency on a synthetic catalog: {@link InvertedIndex} (BM25, top 100) against a
+ * lowercase substring scan over every event, which is what the LIKE '%kw%' query does,
+ * {@link TrigramIndex} fuzzy search for the same queries with one typo per word,
+ * {@link SuggestTrie} typeahead for one- to four-letter prefixes, and {@link FacetIndex}
+ * filters with counts over five facets.
+ * The vocabulary is tiny, so every query word appears in a large share of the events; that is
+ * the worst case for posting-list lengths, and real catalogs search faster than this.
+ *
+ * Not a unit test; run it directly, e.g.
+ * {@code java -cp target/classes:target/test-classes com.eventmate.eventmate_backend.search.SearchBenchmark}
+ */
+public class SearchBenchmark {
+
+    private static final int EVENTS = 100_000;
+    private static final int QUERIES = 2_000;
+    private static final int[] WEIGHTS = {3, 1, 2, 2};
+
+    private static final String[] WORDS = {
+            "live", "concert", "comedy", "night", "jazz", "rock", "festival", "movie", "premiere",
+            "workshop", "dance", "classical", "orchestra", "standup", "tour", "acoustic", "summer",
+            "winter", "open", "air", "theatre", "magic", "show", "food", "market", "art", "expo"
+    };
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bangalore", "Pune", "Chennai", "Kolkata", "Hyderabad"};
+    private static final String[] CATEGORIES = {"Music", "Comedy", "Movie", "Workshop", "Food", "Art"};
+    private static final String[] PRICE_BANDS = {"free", "under-500", "500-999", "1000-2499", "2500-plus"};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[][] events = new String[EVENTS][];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = new String[] {
+                    phrase(random, 3) + " " + i, phrase(random, 12),
+                    CITIES[random.nextInt(CITIES.length)], CATEGORIES[random.nextInt(CATEGORIES.length)]
+            };
+        }
+
+        long start = System.nanoTime();
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < EVENTS; i++) {
+            index.put(i, events[i], WEIGHTS);
+        }
+        System.out.printf("built index over %,d events in %d ms%n", EVENTS, (System.nanoTime() - start) / 1_000_000);
+
+        String[] queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = phrase(random, 1 + random.nextInt(2));
+        }
+
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            long hits = 0;
+            for (String query : queries) {
+                List<InvertedIndex.Hit> found = index.search(query, 100);
+                hits += found.size();
+            }
+            long indexMicros = (System.nanoTime() - start) / 1000 / QUERIES;
+
+            start = System.nanoTime();
+            long matches = 0;
+            for (int q = 0; q < QUERIES / 10; q++) {
+                matches += scan(events, queries[q]);
+            }
+            long scanMicros = (System.nanoTime() - start) / 1000 / (QUERIES / 10);
+
+            System.out.printf("%s: index %d us/query (%d hits), substring scan %d us/query (%d matches)%n",
+                    round == 0 ? "warm-up" : "measured", indexMicros, hits, scanMicros, matches);
+        }
+
+        start = System.nanoTime();
+        TrigramIndex fuzzy = new TrigramIndex();
+        for (int i = 0; i < EVENTS; i++) {
+            fuzzy.put(i, new String[] {events[i][0], events[i][2]}, new int[] {2, 1});
+        }
+        System.out.printf("built trigram index in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        String[] typos = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            typos[q] = typo(random, queries[q]);
+        }
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            long hits = 0;
+            for (String query : typos) {
+                hits += fuzzy.search(query, 100).size();
+            }
+            long micros = (System.nanoTime() - start) / 1000 / QUERIES;
+            System.out.printf("%s: fuzzy %d us/query (%d hits)%n", round == 0 ? "warm-up" : "measured", micros, hits);
+        }
+
+        start = System.nanoTime();
+        SuggestTrie trie = new SuggestTrie();
+        for (int i = 0; i < EVENTS; i++) {
+            long popularity = 1 + random.nextInt(500);
+            trie.add(events[i][0], "TITLE", popularity, (long) i);
+            trie.add(events[i][2], "LOCATION", popularity, null);
+            trie.add(events[i][3], "CATEGORY", popularity, null);
+        }
+        System.out.printf("built suggest trie in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            long suggestions = 0;
+            for (String query : queries) {
+                suggestions += trie.complete(query.substring(0, Math.min(query.length(), 1 + query.length() % 4)), 8).size();
+            }
+            long nanos = (System.nanoTime() - start) / QUERIES;
+            System.out.printf("%s: suggest %d ns/prefix (%d suggestions)%n",
+                    round == 0 ? "warm-up" : "measured", nanos, suggestions);
+        }
+
+        FacetIndex facets = new FacetIndex("category", "type", "date", "price", "seating");
+        for (int i = 0; i < EVENTS; i++) {
+            facets.put(i, random.nextInt(730), new String[] {
+                    events[i][3], random.nextInt(4) == 0 ? "MOVIE" : "NORMAL", "2026-" + (1 + random.nextInt(12)),
+                    PRICE_BANDS[random.nextInt(PRICE_BANDS.length)], random.nextBoolean() ? "seated" : "general-admission"
+            });
+        }
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            long total = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                Map<String, List<String>> filters = Map.of(
+                        "category", List.of(CATEGORIES[q % CATEGORIES.length], CATEGORIES[(q + 1) % CATEGORIES.length]),
+                        "price", List.of(PRICE_BANDS[q % PRICE_BANDS.length]));
+                total += facets.query(filters, 0, 20).total();
+            }
+            long micros = (System.nanoTime() - start) / 1000 / QUERIES;
+            System.out.printf("%s: facets %d us/query with counts and a page of 20 (%d matches)%n",
+                    round == 0 ? "warm-up" : "measured", micros, total);
+        }
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    // Replaces one letter of every word of four letters or more
+    private static String typo(Random random, String query) {
+        StringBuilder text = new StringBuilder();
+        for (String word : query.split(" ")) {
+            if (text.length() > 0) text.append(' ');
+            char[] letters = word.toCharArray();
+            if (letters.length >= 4) letters[1 + random.nextInt(letters.length - 1)] = (char) ('a' + random.nextInt(26));
+            text.append(letters);
+        }
+        return text.toString();
+    }
+
+    private static int scan(String[][] events, String query) {
+        String needle = query.toLowerCase();
+        int matches = 0;
+        for (String[] fields : events) {
+            for (String field : fields) {
+                if (field.toLowerCase().contains(needle)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,129 @@
+package com.eventmate.eventmate_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestTrieTest {
+
+    @Test
+    void matchesPhraseStartAndLaterWordStarts() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.add("Arijit Singh Live", "title", 5, 1L);
+        trie.add("Singapore Food Fest", "title", 3, 2L);
+
+        assertEquals(List.of("Arijit Singh Live", "Singapore Food Fest"), texts(trie.complete("sing", 10)));
+        assertEquals(List.of("Arijit Singh Live"), texts(trie.complete("singh", 10)));
+        assertEquals(List.of("Arijit Singh Live"), texts(trie.complete("  ARIJIT  si", 10)), "normalised like the phrase");
+        assertTrue(trie.complete("singh food", 10).isEmpty());
+        assertTrue(trie.complete("", 10).isEmpty());
+    }
+
+    @Test
+    void trailingSpaceMeansTheWordIsFinished() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.add("Jazz Night", "title", 1, 1L);
+        trie.add("Jazzfest", "title", 2, 2L);
+
+        assertEquals(List.of("Jazzfest", "Jazz Night"), texts(trie.complete("jazz", 10)));
+        assertEquals(List.of("Jazz Night"), texts(trie.complete("jazz ", 10)));
+    }
+
+    @Test
+    void samePhraseFromSeveralEventsIsOneSuggestion() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.add("Mumbai", "location", 4, 1L);
+        SuggestTrie.Completion single = trie.complete("mum", 10).get(0);
+        assertEquals(1L, single.eventId().longValue(), "a phrase used once links to its event");
+
+        trie.add("Mumbai", "location", 6, 2L);
+        List<SuggestTrie.Completion> completions = trie.complete("mum", 10);
+        assertEquals(1, completions.size());
+        assertEquals(10, completions.get(0).weight());
+        assertNull(completions.get(0).eventId());
+
+        trie.remove("Mumbai", "location", 6, 2L);
+        assertEquals(4, trie.complete("mum", 10).get(0).weight());
+        trie.remove("Mumbai", "location", 4, 1L);
+        assertTrue(trie.complete("mum", 10).isEmpty());
+    }
+
+    @Test
+    void mostPopularComeFirstAndLimitIsCapped() {
+        SuggestTrie trie = new SuggestTrie();
+        for (int i = 1; i <= SuggestTrie.TOP_K + 5; i++) {
+            trie.add("Show " + i, "title", i, (long) i);
+        }
+        List<SuggestTrie.Completion> completions = trie.complete("show", 100);
+        assertEquals(SuggestTrie.TOP_K, completions.size());
+        assertEquals("Show " + (SuggestTrie.TOP_K + 5), completions.get(0).text());
+        assertEquals(List.of("Show 15", "Show 14"), texts(trie.complete("show", 2)));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomAddsAndRemoves() {
+        String[] words = {"jazz", "jam", "java", "rock", "rocket", "live", "lit", "night", "nile", "food"};
+        Random random = new Random(11);
+        SuggestTrie trie = new SuggestTrie();
+        Map<String, List<Long>> added = new HashMap<>();
+
+        for (int step = 0; step < 3000; step++) {
+            List<String> present = new ArrayList<>(added.keySet());
+            if (!present.isEmpty() && random.nextInt(3) == 0) {
+                String text = present.get(random.nextInt(present.size()));
+                List<Long> weights = added.get(text);
+                long weight = weights.remove(random.nextInt(weights.size()));
+                if (weights.isEmpty()) added.remove(text);
+                trie.remove(text, "title", weight, null);
+            } else {
+                int length = 1 + random.nextInt(3);
+                StringBuilder text = new StringBuilder();
+                for (int w = 0; w < length; w++) {
+                    if (w > 0) text.append(' ');
+                    text.append(words[random.nextInt(words.length)]);
+                }
+                long weight = 1 + random.nextInt(50);
+                added.computeIfAbsent(text.toString(), key -> new ArrayList<>()).add(weight);
+                trie.add(text.toString(), "title", weight, null);
+            }
+
+            if (step % 10 == 0) {
+                for (String prefix : new String[]{"j", "ja", "jaz", "r", "rock ", "l", "ni", "food", "jazz j"}) {
+                    assertEquals(expected(added, prefix), texts(trie.complete(prefix, SuggestTrie.TOP_K)),
+                            "step " + step + ", prefix '" + prefix + "'");
+                }
+            }
+        }
+    }
+
+    private static List<String> expected(Map<String, List<Long>> added, String prefix) {
+        List<Map.Entry<String, Long>> matches = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : added.entrySet()) {
+            String text = entry.getKey();
+            boolean match = text.startsWith(prefix);
+            for (int i = 0; i < text.length() && !match; i++) {
+                match = text.charAt(i) == ' ' && text.startsWith(prefix, i + 1);
+            }
+            if (match) {
+                long weight = entry.getValue().stream().mapToLong(Long::longValue).sum();
+                matches.add(Map.entry(text, weight));
+            }
+        }
+        matches.sort(Comparator.comparingLong((Map.Entry<String, Long> e) -> e.getValue()).reversed()
+                .thenComparing(Map.Entry::getKey));
+        return matches.stream().limit(SuggestTrie.TOP_K).map(Map.Entry::getKey).toList();
+    }
+
+    private static List<String> texts(List<SuggestTrie.Completion> completions) {
+        return completions.stream().map(SuggestTrie.Completion::text).toList();
+    }
+}
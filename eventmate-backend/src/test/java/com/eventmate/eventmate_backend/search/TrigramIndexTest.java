@@ -0,0 +1,171 @@
+package com.eventmate.eventmate_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private static final int[] WEIGHTS = {3, 1};
+
+    @Test
+    void editBudgetGrowsWithWordLength() {
+        assertEquals(0, TrigramIndex.maxEdits(3));
+        assertEquals(1, TrigramIndex.maxEdits(4));
+        assertEquals(1, TrigramIndex.maxEdits(6));
+        assertEquals(2, TrigramIndex.maxEdits(7));
+    }
+
+    @Test
+    void swappedNeighboursCountAsOneEdit() {
+        assertEquals(1, TrigramIndex.boundedLevenshtein("mumbia", "mumbai", 1));
+        assertEquals(1, TrigramIndex.boundedLevenshtein("arjit", "arijit", 1));
+        assertEquals(2, TrigramIndex.boundedLevenshtein("kitten", "sitting", 1), "over the budget reports max + 1");
+        assertEquals(0, TrigramIndex.boundedLevenshtein("jazz", "jazz", 0));
+    }
+
+    @Test
+    void boundedDistanceMatchesFullDistance() {
+        Random random = new Random(3);
+        for (int round = 0; round < 5000; round++) {
+            String a = randomWord(random, 0, 9);
+            String b = random.nextBoolean() ? randomWord(random, 0, 9) : mutate(a, random);
+            int max = random.nextInt(4);
+            int full = distance(a, b);
+            assertEquals(Math.min(full, max + 1), TrigramIndex.boundedLevenshtein(a, b, max), a + " / " + b + " max " + max);
+        }
+    }
+
+    @Test
+    void misspelledQueryFindsTheEvent() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, new String[]{"Arijit Singh Live", "Mumbai"}, WEIGHTS);
+        index.put(2, new String[]{"Jazz Night", "Pune"}, WEIGHTS);
+
+        assertEquals(List.of(1L), ids(index.search("arjit sing", 10)));
+        assertEquals(List.of(1L), ids(index.search("mumbia", 10)));
+        assertTrue(index.search("jaz", 10).isEmpty(), "three letters must match exactly");
+        assertEquals(List.of(2L), ids(index.search("pnue nigth", 10)));
+    }
+
+    @Test
+    void closerAndHeavierMatchesRankFirst() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, new String[]{"Concert", ""}, WEIGHTS);
+        index.put(2, new String[]{"Concerto", ""}, WEIGHTS);
+        index.put(3, new String[]{"Gala", "Concert"}, WEIGHTS);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("concert", 10)));
+    }
+
+    @Test
+    void reindexedAndRemovedDocumentsStopMatching() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, new String[]{"Jazz Night", ""}, WEIGHTS);
+        index.put(1, new String[]{"Blues Night", ""}, WEIGHTS);
+        assertTrue(index.search("jazz", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("bluse", 10)));
+
+        index.remove(1);
+        assertTrue(index.search("blues", 10).isEmpty());
+    }
+
+    @Test
+    void closeWordsSharingNoTrigramStillMatch() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, new String[]{"ebccbac", ""}, WEIGHTS);
+        index.put(2, new String[]{"hahahahaha", ""}, WEIGHTS);
+
+        assertEquals(List.of(1L), ids(index.search("beccabc", 10)), "two swaps, no trigram in common");
+        assertEquals(List.of(2L), ids(index.search("hahahhaah", 10)), "repeated trigrams count each time");
+    }
+
+    @Test
+    void findsEveryVocabularyWordWithinBudget() {
+        Random random = new Random(5);
+        TrigramIndex index = new TrigramIndex();
+        List<String> vocabulary = new ArrayList<>();
+        for (long id = 0; id < 400; id++) {
+            String word = randomWord(random, 2, 12);
+            vocabulary.add(word);
+            index.put(id, new String[]{word, ""}, WEIGHTS);
+        }
+
+        for (int round = 0; round < 2000; round++) {
+            String query = random.nextInt(3) == 0
+                    ? randomWord(random, 2, 12)
+                    : mutate(vocabulary.get(random.nextInt(vocabulary.size())), random);
+            if (query.isEmpty()) continue;
+            int budget = TrigramIndex.maxEdits(query.length());
+            Set<Long> expected = new TreeSet<>();
+            for (int id = 0; id < vocabulary.size(); id++) {
+                if (distance(query, vocabulary.get(id)) <= budget) expected.add((long) id);
+            }
+            Set<Long> found = new TreeSet<>(ids(index.search(query, 1000)));
+            assertEquals(expected, found, "query '" + query + "'");
+        }
+    }
+
+    // Optimal string alignment distance: Levenshtein plus swaps of neighbouring letters
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1));
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    // Small alphabet so random words share trigrams and land near each other
+    private static String randomWord(Random random, int min, int max) {
+        int length = min + random.nextInt(max - min + 1);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(String word, Random random) {
+        StringBuilder out = new StringBuilder(word);
+        int edits = 1 + random.nextInt(2);
+        for (int e = 0; e < edits; e++) {
+            int at = out.length() == 0 ? 0 : random.nextInt(out.length());
+            switch (random.nextInt(4)) {
+                case 0 -> out.insert(at, (char) ('a' + random.nextInt(5)));
+                case 1 -> {
+                    if (out.length() > 0) out.deleteCharAt(at);
+                }
+                case 2 -> {
+                    if (out.length() > 0) out.setCharAt(at, (char) ('a' + random.nextInt(5)));
+                }
+                default -> {
+                    if (at + 1 < out.length()) {
+                        char c = out.charAt(at);
+                        out.setCharAt(at, out.charAt(at + 1));
+                        out.setCharAt(at + 1, c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<Long> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::docId).toList();
+    }
+}
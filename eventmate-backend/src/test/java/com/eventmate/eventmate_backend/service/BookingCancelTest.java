@@ -0,0 +1,126 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Booking;
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.model.User;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cancelling a booking releases its tickets only if this call's conditional UPDATE is the one
+ * that cancelled it; a booking that hold expiry or another cancel got to first is left alone.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingCancelTest {
+
+    private static final Long BOOKING_ID = 1L;
+    private static final Long EVENT_ID = 10L;
+    private static final int TICKETS = 3;
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private HotCapacityService hotCapacityService;
+    @Mock
+    private OccupiedSeatIndex occupiedSeatIndex;
+    @Mock
+    private BookingSeatService bookingSeatService;
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final Booking booking = new Booking();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("fan@example.com");
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        booking.setId(BOOKING_ID);
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setTicketsCount(TICKETS);
+        booking.setStatus("PENDING");
+        when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void cancelReleasesTheTickets() {
+        when(bookingRepository.cancelIfNotCancelled(eq(BOOKING_ID), any())).thenReturn(1);
+
+        bookingService.cancelBooking(BOOKING_ID, "fan@example.com");
+
+        verify(bookingSeatService).release(BOOKING_ID);
+        verify(occupiedSeatIndex).bookingCancelled(booking);
+        verify(eventRepository).releaseSeats(EVENT_ID, TICKETS);
+    }
+
+    @Test
+    void bookingCancelledElsewhereReleasesNothing() {
+        // Still PENDING when loaded, but expiry flipped the row before this UPDATE ran
+        when(bookingRepository.cancelIfNotCancelled(eq(BOOKING_ID), any())).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(BOOKING_ID));
+
+        verify(bookingSeatService, never()).release(anyLong());
+        verify(occupiedSeatIndex, never()).bookingCancelled(any(Booking.class));
+        verify(eventRepository, never()).releaseSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void concurrentCancelsReleaseTheTicketsOnce() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            // The row: whichever UPDATE reaches it first changes it
+            AtomicBoolean cancelled = new AtomicBoolean();
+            when(bookingRepository.cancelIfNotCancelled(eq(BOOKING_ID), any()))
+                    .thenAnswer(invocation -> cancelled.compareAndSet(false, true) ? 1 : 0);
+            CyclicBarrier start = new CyclicBarrier(2);
+            AtomicInteger failures = new AtomicInteger();
+
+            Thread user = new Thread(() -> cancel(start, "fan@example.com", failures));
+            Thread admin = new Thread(() -> cancel(start, null, failures));
+            user.start();
+            admin.start();
+            user.join();
+            admin.join();
+
+            assertEquals(1, failures.get(), "round " + round + ": exactly one cancel wins");
+            verify(eventRepository, times(round + 1)).releaseSeats(EVENT_ID, TICKETS);
+        }
+    }
+
+    private void cancel(CyclicBarrier start, String email, AtomicInteger failures) {
+        try {
+            start.await();
+            bookingService.cancelBooking(BOOKING_ID, email);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Booking;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * How a payment confirmation and hold expiry decide between them. The database settles the
+ * race: confirmIfPending only changes a PENDING row, and the expiry only cancels rows its
+ * FOR UPDATE SKIP LOCKED still finds PENDING. These tests check what each side does with the
+ * answer it gets.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingConfirmExpiryTest {
+
+    private static final Long BOOKING_ID = 1L;
+    private static final Long EVENT_ID = 10L;
+    private static final int TICKETS = 3;
+
+    @Nested
+    class Confirm {
+
+        @Mock
+        private BookingRepository bookingRepository;
+        @InjectMocks
+        private BookingService bookingService;
+
+        @Test
+        void pendingBookingIsConfirmed() {
+            Booking booking = booking("CONFIRMED");
+            when(bookingRepository.confirmIfPending(BOOKING_ID)).thenReturn(1);
+            when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
+
+            assertSame(booking, bookingService.confirmBooking(BOOKING_ID));
+        }
+
+        @Test
+        void bookingTheExpiryCancelledIsNotConfirmed() {
+            when(bookingRepository.confirmIfPending(BOOKING_ID)).thenReturn(0);
+            when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(booking("CANCELLED")));
+
+            assertThrows(RuntimeException.class, () -> bookingService.confirmBooking(BOOKING_ID));
+        }
+
+        @Test
+        void confirmingTwiceReturnsTheBooking() {
+            Booking booking = booking("CONFIRMED");
+            when(bookingRepository.confirmIfPending(BOOKING_ID)).thenReturn(0);
+            when(bookingRepository.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
+
+            assertSame(booking, bookingService.confirmBooking(BOOKING_ID));
+        }
+    }
+
+    @Nested
+    class Expire {
+
+        @Mock
+        private BookingRepository bookingRepository;
+        @Mock
+        private EventRepository eventRepository;
+        @Mock
+        private HotCapacityService hotCapacityService;
+        @Mock
+        private OccupiedSeatIndex occupiedSeatIndex;
+        @Mock
+        private SeatInventoryService seatInventoryService;
+        @Mock
+        private BookingSeatService bookingSeatService;
+        @Mock
+        private PlatformTransactionManager transactionManager;
+        @Spy
+        private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        @InjectMocks
+        private BookingExpiryService bookingExpiryService;
+
+        @BeforeEach
+        void setUp() {
+            bookingExpiryService.init();
+        }
+
+        @Test
+        void pendingBookingIsCancelledAndItsTicketsReturned() {
+            when(bookingRepository.lockPendingByIds(List.of(BOOKING_ID))).thenReturn(List.of(expiredBooking()));
+
+            assertEquals(1, bookingExpiryService.expireIfPending(List.of(BOOKING_ID)));
+
+            verify(bookingRepository).cancelAllById(eq(List.of(BOOKING_ID)), any());
+            verify(bookingSeatService).releaseAll(List.of(BOOKING_ID));
+            verify(occupiedSeatIndex).bookingCancelled(BOOKING_ID, EVENT_ID, null);
+            verify(eventRepository).releaseSeats(EVENT_ID, TICKETS);
+        }
+
+        @Test
+        void hotEventGetsItsTicketsBackInMemory() {
+            when(bookingRepository.lockPendingByIds(List.of(BOOKING_ID))).thenReturn(List.of(expiredBooking()));
+            when(hotCapacityService.releaseIfTracked(EVENT_ID, TICKETS)).thenReturn(true);
+
+            assertEquals(1, bookingExpiryService.expireIfPending(List.of(BOOKING_ID)));
+            verify(eventRepository, never()).releaseSeats(anyLong(), anyInt());
+        }
+
+        @Test
+        void confirmedOrLockedBookingIsLeftAlone() {
+            // Already CONFIRMED, or a confirmIfPending holds the row: SKIP LOCKED returns nothing
+            when(bookingRepository.lockPendingByIds(List.of(BOOKING_ID))).thenReturn(List.of());
+
+            assertEquals(0, bookingExpiryService.expireIfPending(List.of(BOOKING_ID)));
+
+            verify(bookingRepository, never()).cancelAllById(anyList(), any());
+            verify(bookingSeatService, never()).releaseAll(anyList());
+            verify(eventRepository, never()).releaseSeats(anyLong(), anyInt());
+        }
+    }
+
+    private static Booking booking(String status) {
+        Booking booking = new Booking();
+        booking.setId(BOOKING_ID);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static BookingRepository.ExpiredBooking expiredBooking() {
+        return new BookingRepository.ExpiredBooking() {
+            public Long getId() { return BOOKING_ID; }
+            public Long getEventId() { return EVENT_ID; }
+            public Long getShowTimeId() { return null; }
+            public Integer getTicketsCount() { return TICKETS; }
+            public String getSeats() { return null; }
+        };
+    }
+}
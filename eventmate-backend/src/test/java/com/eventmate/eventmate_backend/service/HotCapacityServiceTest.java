@@ -0,0 +1,112 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.model.Event;
+import com.eventmate.eventmate_backend.repository.BookingRepository;
+import com.eventmate.eventmate_backend.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Editing a hot event while a grant is still in flight: the grant has to stay counted, whether
+ * the counter keeps going or is handed back to events.available_seats.
+ */
+@ExtendWith(MockitoExtension.class)
+class HotCapacityServiceTest {
+
+    private static final Long EVENT_ID = 10L;
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private HotCapacityService hotCapacityService;
+
+    private final Event event = new Event();
+
+    @BeforeEach
+    void setUp() {
+        event.setId(EVENT_ID);
+        event.setHotSale(true);
+        event.setTotalCapacity(10);
+        when(bookingRepository.sumTicketsByEventIdAndStatusNot(EVENT_ID, "CANCELLED")).thenReturn(0L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void editKeepsAnUncommittedGrantCounted() {
+        assertTrue(hotCapacityService.tryReserve(event, 3));
+
+        hotCapacityService.eventUpdated(event);
+        assertEquals(7, hotCapacityService.remaining(EVENT_ID));
+        verify(eventRepository).setAvailableSeats(EVENT_ID, 7);
+
+        finish(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(10, hotCapacityService.remaining(EVENT_ID), "the rollback returns to the same counter");
+    }
+
+    @Test
+    void capacityChangeResizesInPlace() {
+        assertTrue(hotCapacityService.tryReserve(event, 3));
+
+        event.setTotalCapacity(15);
+        hotCapacityService.eventUpdated(event);
+        finish(TransactionSynchronization.STATUS_COMMITTED);
+        when(bookingRepository.sumTicketsByEventIdAndStatusNot(EVENT_ID, "CANCELLED")).thenReturn(3L);
+
+        assertEquals(12, hotCapacityService.remaining(EVENT_ID));
+        assertEquals(0, hotCapacityService.reconcile(), "matches the ledger once the booking is in it");
+    }
+
+    @Test
+    void leavingHotModeWaitsForGrantsInFlight() throws Exception {
+        assertTrue(hotCapacityService.tryReserve(event, 3));
+        List<TransactionSynchronization> inFlight = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Thread rollback = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            inFlight.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        });
+        rollback.start();
+
+        event.setHotSale(false);
+        hotCapacityService.eventUpdated(event);
+        rollback.join();
+
+        verify(eventRepository).setAvailableSeats(EVENT_ID, 10);
+        assertEquals(-1, hotCapacityService.remaining(EVENT_ID));
+    }
+
+    // What the transaction manager does when the booking's transaction ends
+    private static void finish(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+}
@@ -0,0 +1,187 @@
+package com.eventmate.eventmate_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "booking";
+    private static final String ALICE = "alice@example.com";
+
+    private IdempotencyService service;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new IdempotencyService();
+        set(service, "maxKeys", 100);
+        set(service, "ttlMinutes", 60L);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void withoutKeyActionAlwaysRuns() {
+        service.execute(SCOPE, ALICE, null, "req", this::created);
+        service.execute(SCOPE, ALICE, " ", "req", this::created);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void repeatGetsTheFirstResponseBack() {
+        ResponseEntity<?> first = service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        ResponseEntity<?> second = service.execute(SCOPE, ALICE, "k1", "req", this::created);
+
+        assertEquals(1, calls.get());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRefused() {
+        service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        ResponseEntity<?> other = service.execute(SCOPE, ALICE, "k1", "different", this::created);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, other.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keyIsScopedToCallerAndEndpoint() {
+        service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        service.execute(SCOPE, "bob@example.com", "k1", "req", this::created);
+        service.execute("payment", ALICE, "k1", "req", this::created);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void serverErrorsAndExceptionsCanBeRetried() {
+        service.execute(SCOPE, ALICE, "k1", "req", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.internalServerError().build();
+        });
+        service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        assertEquals(2, calls.get(), "a 5xx is not replayed");
+
+        assertThrows(IllegalStateException.class, () -> service.execute(SCOPE, ALICE, "k2", "req", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        service.execute(SCOPE, ALICE, "k2", "req", this::created);
+        assertEquals(3, calls.get(), "a thrown exception is not replayed");
+    }
+
+    @Test
+    void overlongKeyIsRejected() {
+        ResponseEntity<?> response = service.execute(SCOPE, ALICE, "x".repeat(256), "req", this::created);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void duplicateWaitsForTheRequestInFlight() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = pool.submit(() -> service.execute(SCOPE, ALICE, "k1", "req", () -> {
+                running.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return created();
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Future<ResponseEntity<?>> duplicate = pool.submit(() -> service.execute(SCOPE, ALICE, "k1", "req", this::created));
+            Thread.sleep(100);
+            assertFalse(duplicate.isDone(), "duplicate is parked until the first call finishes");
+
+            finish.countDown();
+            ResponseEntity<?> original = first.get(5, TimeUnit.SECONDS);
+            ResponseEntity<?> replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals(original.getBody(), replayed.getBody());
+            assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+            assertEquals(1, calls.get(), "only the first call ran the action");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void oldestKeyIsDroppedWhenFull() throws Exception {
+        set(service, "maxKeys", 2);
+        service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        service.execute(SCOPE, ALICE, "k2", "req", this::created);
+        service.execute(SCOPE, ALICE, "k3", "req", this::created);
+
+        service.execute(SCOPE, ALICE, "k3", "req", this::created);
+        assertEquals(3, calls.get(), "k3 is still kept");
+        service.execute(SCOPE, ALICE, "k1", "req", this::created);
+        assertEquals(4, calls.get(), "k1 was dropped and runs again");
+    }
+
+    @Test
+    void keyInFlightIsNotDroppedWhenFull() throws Exception {
+        set(service, "maxKeys", 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = pool.submit(() -> service.execute(SCOPE, ALICE, "k1", "req", () -> {
+                running.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return created();
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            // Overflows the store while k1 is still running
+            service.execute(SCOPE, ALICE, "k2", "req", this::created);
+            service.execute(SCOPE, ALICE, "k3", "req", this::created);
+
+            Future<ResponseEntity<?>> duplicate = pool.submit(() -> service.execute(SCOPE, ALICE, "k1", "req", this::created));
+            finish.countDown();
+            ResponseEntity<?> original = first.get(5, TimeUnit.SECONDS);
+            ResponseEntity<?> replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals(original.getBody(), replayed.getBody(), "the duplicate got the running call's result");
+            assertEquals(3, calls.get(), "k1's action ran once");
+
+            service.execute(SCOPE, ALICE, "k2", "req", this::created);
+            assertEquals(4, calls.get(), "finished k2 was dropped instead");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<?> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("booking-" + calls.incrementAndGet());
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
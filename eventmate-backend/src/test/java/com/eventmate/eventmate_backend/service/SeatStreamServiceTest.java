@@ -0,0 +1,210 @@
+package com.eventmate.eventmate_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatStreamServiceTest {
+
+    private static final Long SHOWTIME = 7L;
+    private static final Pattern DELTA = Pattern.compile("\\[(\\d+),(\\d+),(\\d+)]");
+
+    private RecordingEmitter nextEmitter;
+    private final SeatStreamService service = new SeatStreamService() {
+        @Override
+        SseEmitter createEmitter() {
+            return nextEmitter;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void concurrentPublishersAreDeliveredInVersionOrder() throws Exception {
+        RecordingEmitter subscriber = subscribe(null);
+        long start = service.currentVersion(SHOWTIME);
+
+        int threads = 8;
+        int perThread = 15; // 8 * 15 events stays under the queue bound
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seat = t;
+            Thread publisher = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    service.publish(SHOWTIME, new int[]{seat * 2, seat * 2 + 1}, i % 3);
+                }
+            });
+            publisher.start();
+            publishers.add(publisher);
+        }
+        go.countDown();
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        long expected = (long) threads * perThread * 2;
+        List<Long> versions = subscriber.awaitVersions(expected);
+        assertEquals(expected, versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(start + 1 + i, versions.get(i).longValue(), "versions must arrive gap-free and in order");
+        }
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(unblock);
+        RecordingEmitter fast = subscribe(null);
+
+        int events = SeatStreamService.MAX_PENDING + 2;
+        for (int i = 0; i < events; i++) {
+            service.publish(SHOWTIME, new int[]{i}, 1);
+            fast.awaitVersions(i + 1);
+        }
+
+        assertFalse(fast.completed);
+        assertEquals(events, fast.awaitVersions(events).size());
+        // Its writer is still inside send, so the writer closes it once the send returns
+        unblock.countDown();
+        assertTrue(slow.awaitCompleted(), "a subscriber that falls behind is closed");
+        assertEquals(1, slow.awaitVersions(1).size(), "nothing is sent after the close");
+    }
+
+    @Test
+    void stalledSendsAreCutOffAndDoNotPinTheWriters() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < SeatStreamService.WRITER_THREADS; i++) {
+            stalled.add(subscribe(unblock));
+        }
+        service.publish(SHOWTIME, new int[]{0}, 1);
+        for (RecordingEmitter emitter : stalled) {
+            assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        }
+
+        // Every writer is stuck in a send; the publisher isn't, and a new stream waits
+        RecordingEmitter healthy = subscribe(null);
+        service.publish(SHOWTIME, new int[]{1}, 1);
+        assertTrue(healthy.awaitVersions(1, 200).isEmpty());
+
+        service.closeStalledStreams(System.currentTimeMillis() + SeatStreamService.SEND_TIMEOUT_MILLIS + 1);
+        assertEquals(1, healthy.awaitVersions(1).size(), "a replacement writer serves the healthy stream");
+        service.publish(SHOWTIME, new int[]{2}, 1);
+        assertEquals(2, healthy.awaitVersions(2).size());
+        for (RecordingEmitter emitter : stalled) {
+            assertFalse(emitter.completed, "the emitter stays untouched while its send holds it");
+        }
+
+        unblock.countDown();
+        for (RecordingEmitter emitter : stalled) {
+            assertTrue(emitter.awaitCompleted());
+            assertEquals(1, emitter.awaitVersions(1).size(), "closed streams get no further events");
+        }
+        assertFalse(healthy.completed);
+    }
+
+    @Test
+    void evictionClosesStreamsAndVersionsKeepGrowing() {
+        service.publish(SHOWTIME, new int[]{1, 2, 3}, 1);
+        String before = service.versionTag(SHOWTIME);
+        long version = service.currentVersion(SHOWTIME);
+        RecordingEmitter subscriber = subscribe(null);
+
+        service.evict(SHOWTIME);
+
+        assertTrue(subscriber.completed, "eviction closes live streams");
+        assertTrue(service.currentVersion(SHOWTIME) > version, "a new log starts above the evicted one");
+        assertFalse(before.equals(service.versionTag(SHOWTIME)));
+    }
+
+    // Subscribes from the current version, so no snapshot (and no seat map) is needed
+    private RecordingEmitter subscribe(CountDownLatch blockUntil) {
+        RecordingEmitter emitter = new RecordingEmitter(blockUntil);
+        nextEmitter = emitter;
+        service.subscribe(SHOWTIME, service.versionTag(SHOWTIME), null);
+        return emitter;
+    }
+
+    // Records the deltas it is sent; optionally stalls inside send like a slow client. send and
+    // complete share the emitter's lock, as in ResponseBodyEmitter.
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch blockUntil;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final List<Long> versions = new ArrayList<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch blockUntil) {
+            this.blockUntil = blockUntil;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            Matcher matcher = DELTA.matcher(text);
+            synchronized (versions) {
+                while (matcher.find()) {
+                    versions.add(Long.parseLong(matcher.group(1)));
+                }
+                versions.notifyAll();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            done.countDown();
+        }
+
+        boolean awaitCompleted() throws InterruptedException {
+            return done.await(5, TimeUnit.SECONDS);
+        }
+
+        List<Long> awaitVersions(long count) throws InterruptedException {
+            return awaitVersions(count, 5000);
+        }
+
+        List<Long> awaitVersions(long count, long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            synchronized (versions) {
+                while (versions.size() < count && System.nanoTime() < deadline) {
+                    versions.wait(10);
+                }
+                return new ArrayList<>(versions);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.eventmate.eventmate_backend.service;
+
+import com.eventmate.eventmate_backend.dto.QueueStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitingRoomServiceTest {
+
+    private static final Long EVENT = 5L;
+    private static final String ALICE = "alice@example.com";
+    private static final String BOB = "bob@example.com";
+
+    private WaitingRoomService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = newService("test-secret", 1);
+        service.setEnabled(EVENT, true);
+    }
+
+    @Test
+    void eventWithoutRoomNeedsNoToken() {
+        assertTrue(service.claim(99L, null, ALICE));
+        QueueStatus status = service.join(99L, ALICE);
+        assertTrue(status.isAdmitted());
+    }
+
+    @Test
+    void tokenIsAdmittedWhenItsTurnComes() {
+        String first = service.join(EVENT, ALICE).getToken();
+        String second = service.join(EVENT, BOB).getToken();
+        assertFalse(service.claim(EVENT, first, ALICE), "nobody admitted yet");
+
+        service.admitNext(); // one per tick
+        assertTrue(service.status(first).isAdmitted());
+        assertEquals(1, service.status(second).getPosition());
+        assertFalse(service.claim(EVENT, second, BOB));
+        assertTrue(service.claim(EVENT, first, ALICE));
+    }
+
+    @Test
+    void admissionIsSpentByOneBooking() {
+        String token = service.join(EVENT, ALICE).getToken();
+        service.admitNext();
+
+        assertTrue(service.claim(EVENT, token, ALICE));
+        assertFalse(service.claim(EVENT, token, ALICE), "second booking with the same pass");
+
+        service.release(EVENT, token); // that booking failed
+        assertTrue(service.claim(EVENT, token, ALICE));
+    }
+
+    @Test
+    void tokenIsBoundToItsUserAndEvent() {
+        service.setEnabled(6L, true);
+        String token = service.join(EVENT, ALICE).getToken();
+        service.admitNext();
+
+        assertFalse(service.claim(EVENT, token, BOB));
+        assertFalse(service.claim(6L, token, ALICE));
+        assertTrue(service.claim(EVENT, token, ALICE));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = service.join(EVENT, ALICE).getToken();
+        service.admitNext();
+        int dot = token.indexOf('.');
+        // First character of each half: always significant bits, unlike the last one
+        String forgedBody = flip(token, 0);
+        String forgedSignature = flip(token, dot + 1);
+
+        assertFalse(service.claim(EVENT, forgedBody, ALICE));
+        assertFalse(service.claim(EVENT, forgedSignature, ALICE));
+        assertThrows(RuntimeException.class, () -> service.status(forgedBody));
+        assertThrows(RuntimeException.class, () -> service.status("not-a-token"));
+    }
+
+    @Test
+    void tokenFromBeforeARestartIsRejected() throws Exception {
+        String token = service.join(EVENT, ALICE).getToken();
+        service.admitNext();
+
+        // Same secret, counters start over: the new room's #1 must not accept the old #1
+        WaitingRoomService restarted = newService("test-secret", 1);
+        restarted.setEnabled(EVENT, true);
+        restarted.join(EVENT, BOB);
+        restarted.admitNext();
+
+        assertFalse(restarted.claim(EVENT, token, ALICE));
+        assertThrows(RuntimeException.class, () -> restarted.status(token));
+    }
+
+    @Test
+    void tokenFromBeforeTheRoomWasReopenedIsRejected() {
+        String token = service.join(EVENT, ALICE).getToken();
+        service.setEnabled(EVENT, false);
+        service.setEnabled(EVENT, true);
+        service.join(EVENT, BOB);
+        service.admitNext();
+
+        assertFalse(service.claim(EVENT, token, ALICE));
+    }
+
+    private static WaitingRoomService newService(String secret, int admitPerSecond) throws Exception {
+        WaitingRoomService service = new WaitingRoomService();
+        set(service, "secret", secret);
+        set(service, "admitPerSecond", admitPerSecond);
+        service.initKey();
+        return service;
+    }
+
+    private static String flip(String token, int at) {
+        char c = token.charAt(at);
+        return token.substring(0, at) + (c == 'A' ? 'B' : 'A') + token.substring(at + 1);
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}